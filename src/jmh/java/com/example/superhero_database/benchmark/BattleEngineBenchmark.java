@@ -0,0 +1,71 @@
+package com.example.superhero_database.benchmark;
+
+import com.example.superhero_database.battle.BattleEventListener;
+import com.example.superhero_database.battle.ClassicBattleEngine;
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.battle.TeamStatsCache;
+import com.example.superhero_database.battle.TickBattleEngine;
+import com.example.superhero_database.dto.battle.BattleResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One battle of the TickBattleEngine (a new seed every call) against the closed-form
+ * ClassicBattleEngine on the same matchups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BattleEngineBenchmark {
+
+    private static final int TEAMS = 1024;
+
+    @Param({"2", "5"})
+    int teamSize;
+
+    private TickBattleEngine tickEngine;
+    private ClassicBattleEngine classicEngine;
+    private int[][] teams;
+    private int next;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        HeroStatsStore store = BenchmarkHeroes.store(42);
+        TeamStatsCache cache = new TeamStatsCache(store, 10_000);
+        tickEngine = new TickBattleEngine(store, cache);
+        classicEngine = new ClassicBattleEngine(cache);
+        teams = BenchmarkHeroes.teams(TEAMS, teamSize, 7);
+    }
+
+    @Benchmark
+    public BattleResult tick() {
+        int i = nextIndex();
+        return tickEngine.fight(teams[i], teams[(i + 1) & (TEAMS - 1)], seed++, BattleEventListener.NONE);
+    }
+
+    @Benchmark
+    public BattleResult classic() {
+        int i = nextIndex();
+        return classicEngine.fight(teams[i], teams[(i + 1) & (TEAMS - 1)], seed++, BattleEventListener.NONE);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (TEAMS - 1);
+        return next;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.superhero_database.benchmark;
+
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.service.SuperheroApiService;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fixed, seeded hero data for the benchmarks, so runs are comparable.
+ */
+final class BenchmarkHeroes {
+
+    static final int HERO_COUNT = SuperheroApiService.HERO_COUNT;
+
+    private BenchmarkHeroes() {
+    }
+
+    static HeroData hero(int id, SplittableRandom random) {
+        return new HeroData(String.valueOf(id), "Hero " + id, "https://example.com/" + id + ".jpg",
+                new HeroStats(random.nextInt(1, 101), random.nextInt(1, 101), random.nextInt(1, 101),
+                        random.nextInt(1, 101), random.nextInt(1, 101)));
+    }
+
+    /**
+     * A store holding every hero id with random stats.
+     */
+    static HeroStatsStore store(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        HeroStatsStore store = new HeroStatsStore();
+        for (int id = 1; id <= HERO_COUNT; id++) {
+            store.put(hero(id, random));
+        }
+        return store;
+    }
+
+    /**
+     * count teams of teamSize distinct hero ids.
+     */
+    static int[][] teams(int count, int teamSize, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[][] teams = new int[count][];
+        for (int t = 0; t < count; t++) {
+            teams[t] = random.ints(1, HERO_COUNT + 1).distinct().limit(teamSize).toArray();
+        }
+        return teams;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.superhero_database.benchmark;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.parser.HeroPayloadParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming HeroData out of a full superheroapi.com payload against the tree parses it
+ * replaced: a JsonNode tree and binding the whole payload to a Map.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeroPayloadParserBenchmark {
+
+    private static final String PAYLOAD = """
+            {"response":"success","id":"70","name":"Batman",
+             "powerstats":{"intelligence":"100","strength":"26","speed":"27","durability":"50","power":"47","combat":"100"},
+             "biography":{"full-name":"Bruce Wayne","alter-egos":"No alter egos found.",
+              "aliases":["Insider","Matches Malone"],"place-of-birth":"Crest Hill, Bristol Township; Gotham County",
+              "first-appearance":"Detective Comics #27","publisher":"DC Comics","alignment":"good"},
+             "appearance":{"gender":"Male","race":"Human","height":["6'2","188 cm"],"weight":["210 lb","95 kg"],
+              "eye-color":"blue","hair-color":"black"},
+             "work":{"occupation":"Businessman","base":"Batcave, Stately Wayne Manor, Gotham City; Hall of Justice, Justice League Watchtower"},
+             "connections":{"group-affiliation":"Batman Family, Batman Incorporated, Justice League, Outsiders, Wayne Enterprises, Club of Heroes, formerly White Lantern Corps, Sinestro Corps",
+              "relatives":"Damian Wayne (son), Dick Grayson (adopted son), Tim Drake (adopted son), Jason Todd (adopted son), Cassandra Cain (adopted ward)"},
+             "image":{"url":"https://www.superherodb.com/pictures2/portraits/10/100/639.jpg"}}
+            """;
+
+    private ObjectMapper objectMapper;
+    private HeroPayloadParser parser;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        parser = new HeroPayloadParser(objectMapper, 0);
+        json = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public HeroData parse() {
+        return parser.parse("70", json);
+    }
+
+    @Benchmark
+    public JsonNode readTree() throws IOException {
+        return objectMapper.readTree(json);
+    }
+
+    @Benchmark
+    public Map<String, Object> toMap() {
+        return parser.toMap(json);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.superhero_database.benchmark;
+
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.battle.TeamStatsCache;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.dto.battle.TeamStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TeamStats from the primitive HeroStatsStore columns, through the TeamStatsCache, and
+ * the object path it replaced (summing HeroData records of a List).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeroStatsStoreBenchmark {
+
+    private static final int TEAMS = 1024;
+
+    @Param({"2", "5"})
+    int teamSize;
+
+    private HeroStatsStore store;
+    private TeamStatsCache cache;
+    private int[][] teams;
+    private List<List<HeroData>> heroTeams;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        store = BenchmarkHeroes.store(42);
+        cache = new TeamStatsCache(store, 10_000);
+        teams = BenchmarkHeroes.teams(TEAMS, teamSize, 7);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<HeroData> heroes = new ArrayList<>();
+        heroes.add(null);
+        for (int id = 1; id <= BenchmarkHeroes.HERO_COUNT; id++) {
+            heroes.add(BenchmarkHeroes.hero(id, random));
+        }
+        heroTeams = new ArrayList<>(TEAMS);
+        for (int[] team : teams) {
+            List<HeroData> heroTeam = new ArrayList<>(team.length);
+            for (int id : team) {
+                heroTeam.add(heroes.get(id));
+            }
+            heroTeams.add(heroTeam);
+        }
+    }
+
+    @Benchmark
+    public TeamStats storeTeamStats() {
+        return store.teamStats(teams[nextIndex()]);
+    }
+
+    @Benchmark
+    public TeamStats cachedTeamStats() {
+        return cache.get(teams[nextIndex()]);
+    }
+
+    @Benchmark
+    public TeamStats heroDataTeamStats() {
+        List<HeroData> team = heroTeams.get(nextIndex());
+        long offense = 0;
+        long speed = 0;
+        int defense = 0;
+        for (HeroData hero : team) {
+            HeroStats stats = hero.stats();
+            offense += stats.getOffensiveScore();
+            speed += stats.speed();
+            defense += stats.getDefensiveScore();
+        }
+        double avgSpeed = (double) speed / team.size();
+        return new TeamStats((offense * avgSpeed) / 100, defense);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (TEAMS - 1);
+        return next;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.superhero_database.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for match inserts on Postgres, written the way Hibernate writes them:
+ * one INSERT ... RETURNING id round trip per match with the old IDENTITY id, against JDBC
+ * batches of 50 with the pooled matches sequence (one nextval per 50 ids) and the driver
+ * rewriting each batch into a multi-row insert. Each match also inserts its two heroes
+ * per side, as the element collections do.
+ *
+ * Needs a database: DATABASE_URL (a jdbc:postgresql URL), USERNAME and PASSWORD, the same
+ * variables the application reads. The benchmark works on its own bench_* tables and drops
+ * them afterwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchInsertBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+    private static final int HEROES_PER_SIDE = 2;
+
+    private Connection identity;
+    private Connection batched;
+    private Timestamp now;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = System.getenv("DATABASE_URL");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("MatchInsertBenchmark needs DATABASE_URL, USERNAME and PASSWORD");
+        }
+        identity = connect(url, false);
+        batched = connect(url, true);
+        now = new Timestamp(System.currentTimeMillis());
+
+        try (Statement statement = identity.createStatement()) {
+            dropTables(statement);
+            statement.execute("CREATE TABLE bench_matches_identity (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "player_id BIGINT NOT NULL, match_date TIMESTAMP, survival_time_player DOUBLE PRECISION, "
+                    + "survival_time_opponent DOUBLE PRECISION, victory BOOLEAN NOT NULL, engine VARCHAR(255), seed BIGINT)");
+            statement.execute("CREATE TABLE bench_matches_pooled (id BIGINT PRIMARY KEY, "
+                    + "player_id BIGINT NOT NULL, match_date TIMESTAMP, survival_time_player DOUBLE PRECISION, "
+                    + "survival_time_opponent DOUBLE PRECISION, victory BOOLEAN NOT NULL, engine VARCHAR(255), seed BIGINT)");
+            statement.execute("CREATE SEQUENCE bench_matches_seq INCREMENT BY " + BATCH_SIZE);
+            statement.execute("CREATE TABLE bench_match_heroes (match_id BIGINT NOT NULL, hero_id VARCHAR(255))");
+        }
+        identity.commit();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = identity.createStatement()) {
+            statement.execute("TRUNCATE bench_matches_identity, bench_matches_pooled, bench_match_heroes");
+        }
+        identity.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = identity.createStatement()) {
+            dropTables(statement);
+        }
+        identity.commit();
+        identity.close();
+        batched.close();
+    }
+
+    /**
+     * IDENTITY ids: Hibernate needs every generated id before it can insert the heroes, so
+     * each match is its own round trip.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void identityRowByRow() throws SQLException {
+        try (PreparedStatement match = identity.prepareStatement(
+                "INSERT INTO bench_matches_identity (player_id, match_date, survival_time_player, "
+                        + "survival_time_opponent, victory, engine, seed) VALUES (?, ?, ?, ?, ?, ?, ?) RETURNING id");
+             PreparedStatement heroes = identity.prepareStatement(
+                     "INSERT INTO bench_match_heroes (match_id, hero_id) VALUES (?, ?)")) {
+            for (int row = 0; row < ROWS; row++) {
+                bindMatch(match, 1, row);
+                long id;
+                try (ResultSet keys = match.executeQuery()) {
+                    keys.next();
+                    id = keys.getLong(1);
+                }
+                addHeroes(heroes, id, row);
+                if ((row + 1) % BATCH_SIZE == 0) {
+                    heroes.executeBatch();
+                }
+            }
+            heroes.executeBatch();
+        }
+        identity.commit();
+    }
+
+    /**
+     * Pooled sequence: one nextval hands out the ids of a whole batch, matches and heroes
+     * go out as JDBC batches of 50.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void pooledSequenceBatched() throws SQLException {
+        try (PreparedStatement sequence = batched.prepareStatement("SELECT nextval('bench_matches_seq')");
+             PreparedStatement match = batched.prepareStatement(
+                     "INSERT INTO bench_matches_pooled (player_id, match_date, survival_time_player, "
+                             + "survival_time_opponent, victory, engine, seed, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement heroes = batched.prepareStatement(
+                     "INSERT INTO bench_match_heroes (match_id, hero_id) VALUES (?, ?)")) {
+            long next = 0;
+            long hi = -1;
+            for (int row = 0; row < ROWS; row++) {
+                if (next > hi) {
+                    try (ResultSet value = sequence.executeQuery()) {
+                        value.next();
+                        hi = value.getLong(1);
+                    }
+                    next = hi - BATCH_SIZE + 1;
+                }
+                long id = next++;
+                bindMatch(match, 1, row);
+                match.setLong(8, id);
+                match.addBatch();
+                addHeroes(heroes, id, row);
+                if ((row + 1) % BATCH_SIZE == 0) {
+                    match.executeBatch();
+                    heroes.executeBatch();
+                }
+            }
+            match.executeBatch();
+            heroes.executeBatch();
+        }
+        batched.commit();
+    }
+
+    private void bindMatch(PreparedStatement match, long playerId, int row) throws SQLException {
+        match.setLong(1, playerId);
+        match.setTimestamp(2, now);
+        match.setDouble(3, 10.0 + row % 7);
+        match.setDouble(4, 10.0 + row % 5);
+        match.setBoolean(5, row % 2 == 0);
+        match.setString(6, "bulk");
+        match.setLong(7, row);
+    }
+
+    private static void addHeroes(PreparedStatement heroes, long matchId, int row) throws SQLException {
+        for (int i = 0; i < 2 * HEROES_PER_SIDE; i++) {
+            heroes.setLong(1, matchId);
+            heroes.setString(2, String.valueOf(1 + (row * 4 + i) % BenchmarkHeroes.HERO_COUNT));
+            heroes.addBatch();
+        }
+    }
+
+    private static Connection connect(String url, boolean rewriteBatchedInserts) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getenv().getOrDefault("USERNAME", ""));
+        properties.setProperty("password", System.getenv().getOrDefault("PASSWORD", ""));
+        properties.setProperty("reWriteBatchedInserts", String.valueOf(rewriteBatchedInserts));
+        Connection connection = DriverManager.getConnection(url, properties);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static void dropTables(Statement statement) throws SQLException {
+        statement.execute("DROP TABLE IF EXISTS bench_matches_identity, bench_matches_pooled, bench_match_heroes");
+        statement.execute("DROP SEQUENCE IF EXISTS bench_matches_seq");
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.BattleResult;
+
+/**
+ * Decides a battle between two teams given as hero ids; the heroes must be in the
+ * HeroStatsStore. Implementations are selected by name per request (see BattleEngines).
+ *
+ * The same teams, seed and hero stats always produce the same result and timeline,
+ * which is what makes a stored match replayable.
+ */
+public interface BattleEngine {
+
+    String getName();
+
+    BattleResult fight(int[] team1, int[] team2, long seed, BattleEventListener listener);
+
+    default BattleResult fight(int[] team1, int[] team2) {
+        return fight(team1, team2, 0L, BattleEventListener.NONE);
+    }
+}
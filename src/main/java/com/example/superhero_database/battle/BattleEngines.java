@@ -0,0 +1,25 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.exception.SuperheroApiException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Looks up a BattleEngine by name; no name means the classic engine.
+ */
+@Component
+@RequiredArgsConstructor
+public class BattleEngines {
+
+    private final List<BattleEngine> engines;
+
+    public BattleEngine get(String name) {
+        String engine = name == null ? ClassicBattleEngine.NAME : name;
+        return engines.stream()
+                .filter(candidate -> candidate.getName().equalsIgnoreCase(engine))
+                .findFirst()
+                .orElseThrow(() -> new SuperheroApiException("Unknown battle engine: " + name));
+    }
+}
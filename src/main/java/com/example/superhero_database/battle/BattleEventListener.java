@@ -0,0 +1,14 @@
+package com.example.superhero_database.battle;
+
+/**
+ * Receives the timeline of a battle while an engine computes it, e.g. to stream a replay.
+ * Heroes are given as their numeric id; time is in battle seconds.
+ */
+public interface BattleEventListener {
+
+    BattleEventListener NONE = new BattleEventListener() {};
+
+    default void onAttack(double time, int attacker, int target, int damage, int remainingHp) {}
+
+    default void onKnockout(double time, int hero) {}
+}
@@ -0,0 +1,16 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.HeroData;
+
+import java.util.List;
+
+/**
+ * Both teams of a started battle, resolved once by /api/battle/start.
+ */
+public record BattleSession(
+        String id,
+        Long userId,
+        List<HeroData> playerTeam,
+        List<HeroData> aiTeam,
+        long createdAt
+) {}
@@ -0,0 +1,145 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Short-lived server-side battles between /start and /simulate.
+ *
+ * /start resolves both teams and stores them here under a battle id, /simulate only sends
+ * that id back. The heroes are not fetched twice and the client cannot swap the AI team.
+ *
+ * - Sessions expire after the ttl and are taken (removed) by the first /simulate
+ * - At most max-per-user open sessions per player; starting another drops the player's oldest
+ * - At most max-size sessions overall; the oldest one is dropped first
+ *
+ * Every session has the same ttl, so insertion order is also expiry order and purging
+ * only has to look at the head of the map.
+ */
+@Component
+public class BattleSessionStore implements MeterBinder {
+
+    private final int maxSize;
+    private final int maxPerUser;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<String, BattleSession> sessions = new LinkedHashMap<>();
+    private final Map<Long, Deque<String>> sessionsByUser = new HashMap<>();
+
+    public BattleSessionStore(@Value("${superhero.battle-session.max-size:10000}") int maxSize,
+                              @Value("${superhero.battle-session.max-per-user:3}") int maxPerUser,
+                              @Value("${superhero.battle-session.ttl:PT15M}") Duration ttl) {
+        if (maxSize <= 0 || maxPerUser <= 0) {
+            throw new IllegalArgumentException("superhero.battle-session limits must be positive");
+        }
+        this.maxSize = maxSize;
+        this.maxPerUser = maxPerUser;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public BattleSession create(Long userId, List<HeroData> playerTeam, List<HeroData> aiTeam) {
+        long now = System.currentTimeMillis();
+        BattleSession session = new BattleSession(
+                UUID.randomUUID().toString(), userId, List.copyOf(playerTeam), List.copyOf(aiTeam), now);
+
+        synchronized (sessions) {
+            purgeExpired(now);
+
+            Deque<String> own = sessionsByUser.get(userId);
+            while (own != null && own.size() >= maxPerUser) {
+                sessions.remove(own.pollFirst());
+            }
+            while (sessions.size() >= maxSize) {
+                Iterator<BattleSession> eldest = sessions.values().iterator();
+                BattleSession dropped = eldest.next();
+                eldest.remove();
+                forgetUserSession(dropped);
+            }
+
+            sessions.put(session.id(), session);
+            sessionsByUser.computeIfAbsent(userId, id -> new ArrayDeque<>()).addLast(session.id());
+        }
+        return session;
+    }
+
+    /**
+     * Removes and returns the session if it exists, has not expired and belongs to the user.
+     */
+    public Optional<BattleSession> take(String battleId, Long userId) {
+        synchronized (sessions) {
+            BattleSession session = sessions.get(battleId);
+            if (session == null || !Objects.equals(session.userId(), userId)) {
+                return Optional.empty();
+            }
+            sessions.remove(battleId);
+            forgetUserSession(session);
+            if (isExpired(session, System.currentTimeMillis())) {
+                return Optional.empty();
+            }
+            return Optional.of(session);
+        }
+    }
+
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${superhero.battle-session.purge-interval:PT1M}")
+    public void purgeExpired() {
+        synchronized (sessions) {
+            purgeExpired(System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("superhero.battle.sessions", this, BattleSessionStore::size)
+                .description("Number of started battles waiting for /simulate")
+                .register(registry);
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<BattleSession> oldest = sessions.values().iterator();
+        while (oldest.hasNext()) {
+            BattleSession session = oldest.next();
+            if (!isExpired(session, now)) {
+                break;
+            }
+            oldest.remove();
+            forgetUserSession(session);
+        }
+    }
+
+    private void forgetUserSession(BattleSession session) {
+        Deque<String> own = sessionsByUser.get(session.userId());
+        if (own != null) {
+            own.remove(session.id());
+            if (own.isEmpty()) {
+                sessionsByUser.remove(session.userId());
+            }
+        }
+    }
+
+    private boolean isExpired(BattleSession session, long now) {
+        return now - session.createdAt() > ttlMillis;
+    }
+}
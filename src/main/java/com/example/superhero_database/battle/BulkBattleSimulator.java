@@ -0,0 +1,106 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.TeamStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates many matchups in a tight loop over the HeroStatsStore columns.
+ *
+ * Matchups are encoded back to back in one int[] (teamSize ids of team 1, then teamSize
+ * ids of team 2). Inputs larger than superhero.bulk.split-threshold matchups are split
+ * in halves on the common ForkJoinPool; every leaf writes straight into the shared
+ * result arrays, so nothing is merged afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkBattleSimulator {
+
+    // Match.engine of persisted bulk rows; they are kept out of the player's dashboard
+    public static final String ENGINE = "bulk";
+
+    @Value("${superhero.bulk.split-threshold:2048}")
+    private int splitThreshold;
+
+    private final HeroStatsStore heroStatsStore;
+
+    /**
+     * @param team1Survival optional, may be null
+     * @param team2Survival optional, may be null
+     * @return number of matchups won by team 1
+     */
+    public int simulate(int[] heroes, int teamSize, byte[] outcomes, float[] team1Survival, float[] team2Survival) {
+        int matchups = outcomes.length;
+        if (matchups <= splitThreshold) {
+            return simulateRange(heroes, teamSize, 0, matchups, outcomes, team1Survival, team2Survival);
+        }
+        ForkJoinPool.commonPool().invoke(new SimulateTask(heroes, teamSize, 0, matchups, outcomes, team1Survival, team2Survival));
+
+        int wins = 0;
+        for (byte outcome : outcomes) {
+            wins += outcome;
+        }
+        return wins;
+    }
+
+    private int simulateRange(int[] heroes, int teamSize, int from, int to,
+                              byte[] outcomes, float[] team1Survival, float[] team2Survival) {
+        int wins = 0;
+        int stride = teamSize * 2;
+        for (int m = from; m < to; m++) {
+            int offset = m * stride;
+            TeamStats team1 = heroStatsStore.teamStats(heroes, offset, teamSize);
+            TeamStats team2 = heroStatsStore.teamStats(heroes, offset + teamSize, teamSize);
+
+            double survival1 = team1.survivalTime(team2);
+            double survival2 = team2.survivalTime(team1);
+            boolean victory = survival1 > survival2;
+
+            outcomes[m] = (byte) (victory ? 1 : 0);
+            wins += victory ? 1 : 0;
+            if (team1Survival != null) {
+                team1Survival[m] = (float) survival1;
+                team2Survival[m] = (float) survival2;
+            }
+        }
+        return wins;
+    }
+
+    private final class SimulateTask extends RecursiveAction {
+        private final int[] heroes;
+        private final int teamSize;
+        private final int from;
+        private final int to;
+        private final byte[] outcomes;
+        private final float[] team1Survival;
+        private final float[] team2Survival;
+
+        SimulateTask(int[] heroes, int teamSize, int from, int to,
+                     byte[] outcomes, float[] team1Survival, float[] team2Survival) {
+            this.heroes = heroes;
+            this.teamSize = teamSize;
+            this.from = from;
+            this.to = to;
+            this.outcomes = outcomes;
+            this.team1Survival = team1Survival;
+            this.team2Survival = team2Survival;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= splitThreshold) {
+                simulateRange(heroes, teamSize, from, to, outcomes, team1Survival, team2Survival);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                    new SimulateTask(heroes, teamSize, from, mid, outcomes, team1Survival, team2Survival),
+                    new SimulateTask(heroes, teamSize, mid, to, outcomes, team1Survival, team2Survival)
+            );
+        }
+    }
+}
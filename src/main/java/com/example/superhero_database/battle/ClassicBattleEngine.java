@@ -0,0 +1,39 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.BattleResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * The original closed-form model: each team survives its defense divided by the opponent's
+ * damage per second, the longer survival wins. There is no randomness, the seed is ignored;
+ * the timeline is just the knockout of the defeated team.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClassicBattleEngine implements BattleEngine {
+
+    public static final String NAME = "classic";
+
+    private final TeamStatsCache teamStatsCache;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public BattleResult fight(int[] team1, int[] team2, long seed, BattleEventListener listener) {
+        BattleResult result = BattleResult.of(teamStatsCache.get(team1), teamStatsCache.get(team2));
+        if (listener != BattleEventListener.NONE) {
+            int[] defeated = result.victory() ? team2 : team1;
+            double time = Math.min(result.team1SurvivalTime(), result.team2SurvivalTime());
+            if (!Double.isInfinite(time)) {
+                for (int hero : defeated) {
+                    listener.onKnockout(time, hero);
+                }
+            }
+        }
+        return result;
+    }
+}
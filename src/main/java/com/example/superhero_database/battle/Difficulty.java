@@ -0,0 +1,35 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.exception.SuperheroApiException;
+
+/**
+ * Strength of the AI team relative to the player's team: the power factor for the
+ * HeroPowerIndex and the target survival ratio in the OutcomeMatrix.
+ */
+public enum Difficulty {
+    EASY(0.8),
+    NORMAL(1.0),
+    HARD(1.2);
+
+    private final double factor;
+
+    Difficulty(double factor) {
+        this.factor = factor;
+    }
+
+    public double getFactor() {
+        return factor;
+    }
+
+    /**
+     * Parses a request parameter, ignoring case.
+     */
+    public static Difficulty of(String name) {
+        for (Difficulty difficulty : values()) {
+            if (difficulty.name().equalsIgnoreCase(name.trim())) {
+                return difficulty;
+            }
+        }
+        throw new SuperheroApiException("Unknown difficulty: " + name + ", expected one of EASY, NORMAL, HARD");
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Heroes sorted by power score, for balanced AI opponents without any upstream call.
+ *
+ * The power of a hero is its offensive plus defensive score (0 - 400), the power of a
+ * team the sum over its heroes. Picking a team splits the target power over the slots
+ * and, per slot, binary searches the sorted power array for the heroes within a band
+ * around the slot's share; one of them is drawn at random. That is O(log n) per hero.
+ *
+ * Heroes come in from the HeroCatalog and from every hero fetched upstream. Additions only
+ * mark the index dirty; the sorted arrays are rebuilt on the next read.
+ */
+@Component
+public class HeroPowerIndex {
+
+    // minimum half-width of the per-hero band, in power points
+    private static final int MIN_BAND = 10;
+    private static final double BAND_RATIO = 0.1;
+    private static final int MAX_TRIES = 8;
+
+    private final Map<String, HeroData> heroes = new ConcurrentHashMap<>();
+    private volatile Sorted sorted = new Sorted(new int[0], new HeroData[0]);
+    private volatile boolean dirty;
+
+    public static int power(HeroStats stats) {
+        return stats.getOffensiveScore() + stats.getDefensiveScore();
+    }
+
+    public static int power(List<HeroData> team) {
+        int power = 0;
+        for (HeroData hero : team) {
+            power += power(hero.stats());
+        }
+        return power;
+    }
+
+    public void put(HeroData hero) {
+        HeroData previous = heroes.put(hero.id(), hero);
+        if (previous == null || !previous.stats().equals(hero.stats())) {
+            dirty = true;
+        }
+    }
+
+    public void putAll(Collection<HeroData> batch) {
+        batch.forEach(this::put);
+    }
+
+    public int size() {
+        return heroes.size();
+    }
+
+    /**
+     * Draws a team of the given size whose power is close to targetPower, never using one of
+     * the excluded hero ids. Empty if the index does not hold enough heroes yet.
+     */
+    public Optional<List<HeroData>> pickTeam(int size, int targetPower, Set<String> excluded) {
+        Sorted index = current();
+        if (index.heroes.length < size + excluded.size()) {
+            return Optional.empty();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<HeroData> team = new ArrayList<>(size);
+        Set<String> used = new HashSet<>(excluded);
+        int remaining = targetPower;
+
+        for (int slot = 0; slot < size; slot++) {
+            int share = remaining / (size - slot);
+            int band = Math.max(MIN_BAND, (int) (share * BAND_RATIO));
+            int from = lowerBound(index.power, share - band);
+            int to = lowerBound(index.power, share + band + 1);
+            if (from >= to) {
+                // nothing in the band, take the closest heroes instead
+                from = Math.max(0, Math.min(from, index.power.length - 1));
+                to = from + 1;
+            }
+
+            HeroData pick = null;
+            for (int tries = 0; tries < MAX_TRIES && pick == null; tries++) {
+                HeroData candidate = index.heroes[random.nextInt(from, to)];
+                if (!used.contains(candidate.id())) {
+                    pick = candidate;
+                }
+            }
+            if (pick == null) {
+                pick = closestUnused(index, from, used);
+            }
+
+            used.add(pick.id());
+            team.add(pick);
+            remaining -= power(pick.stats());
+        }
+        return Optional.of(team);
+    }
+
+    private static HeroData closestUnused(Sorted index, int around, Set<String> used) {
+        for (int distance = 0; distance < index.heroes.length; distance++) {
+            int below = around - distance;
+            int above = around + distance;
+            if (below >= 0 && !used.contains(index.heroes[below].id())) {
+                return index.heroes[below];
+            }
+            if (above < index.heroes.length && !used.contains(index.heroes[above].id())) {
+                return index.heroes[above];
+            }
+        }
+        throw new IllegalStateException("No unused hero left in the power index");
+    }
+
+    private Sorted current() {
+        if (dirty) {
+            synchronized (this) {
+                if (dirty) {
+                    dirty = false;
+                    sorted = Sorted.of(heroes.values());
+                }
+            }
+        }
+        return sorted;
+    }
+
+    private static int lowerBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Sorted {
+        final int[] power;
+        final HeroData[] heroes;
+
+        Sorted(int[] power, HeroData[] heroes) {
+            this.power = power;
+            this.heroes = heroes;
+        }
+
+        static Sorted of(Collection<HeroData> all) {
+            HeroData[] heroes = all.toArray(new HeroData[0]);
+            Arrays.sort(heroes, Comparator.comparingInt(hero -> power(hero.stats())));
+            int[] power = new int[heroes.length];
+            for (int i = 0; i < heroes.length; i++) {
+                power[i] = power(heroes[i].stats());
+            }
+            return new Sorted(power, heroes);
+        }
+    }
+}
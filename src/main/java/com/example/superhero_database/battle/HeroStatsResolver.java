@@ -0,0 +1,58 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.exception.SuperheroApiException;
+import com.example.superhero_database.service.SuperheroApiService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Makes sure hero ids used by the primitive battle paths (bulk simulation, tournaments)
+ * are present in the HeroStatsStore, resolving the unknown ones in batches.
+ *
+ * Only ids 1 .. HERO_COUNT are accepted and at most superhero.resolve.max-unknown distinct
+ * unknown ids per call, so a single request cannot fan out across the upstream.
+ */
+@Component
+@RequiredArgsConstructor
+public class HeroStatsResolver {
+
+    @Value("${superhero.resolve.max-unknown:100}")
+    private int maxUnknown;
+
+    @Value("${superhero.batch.max-size:100}")
+    private int batchSize;
+
+    private final HeroStatsStore heroStatsStore;
+    private final SuperheroApiService superheroApiService;
+
+    public void ensureLoaded(int[] heroIds) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (int id : heroIds) {
+            if (id < 1 || id > SuperheroApiService.HERO_COUNT) {
+                throw new SuperheroApiException("Invalid hero id: " + id);
+            }
+            if (!heroStatsStore.contains(id) && missing.add(String.valueOf(id)) && missing.size() > maxUnknown) {
+                throw new SuperheroApiException("Too many unknown heroes, at most " + maxUnknown + " per request");
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        List<String> ids = new ArrayList<>(missing);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<String> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            heroStatsStore.putAll(superheroApiService.findHeroData(batch).values());
+        }
+        missing.removeIf(id -> heroStatsStore.contains(Integer.parseInt(id)));
+        if (!missing.isEmpty()) {
+            throw new SuperheroApiException("Could not resolve heroes " + missing);
+        }
+    }
+}
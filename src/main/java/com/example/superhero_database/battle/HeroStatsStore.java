@@ -0,0 +1,180 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.dto.battle.TeamStats;
+import com.example.superhero_database.service.SuperheroApiService;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Struct-of-arrays store of the battle powerstats, indexed by numeric hero id.
+ *
+ * The battle engine reads one int per stat and hero straight from primitive arrays, so a
+ * team is just an int[] of hero ids and its TeamStats come out of a single pass without
+ * boxing or record accessors.
+ *
+ * Writes (new heroes, changed stats) take the lock; reads never lock. The version is bumped
+ * on every write, new heroes included: a team read before one of its heroes was added has
+ * zero stats for it, so caches of derived values (TeamStatsCache) must drop it as well.
+ * The arrays are grown by swapping in a new Columns holder, so a reader always sees one
+ * consistent set of arrays.
+ */
+@Component
+public class HeroStatsStore {
+
+    private volatile Columns columns = new Columns(SuperheroApiService.HERO_COUNT + 1);
+    private volatile long version;
+    private volatile int knownCount;
+
+    public boolean contains(int heroId) {
+        Columns c = columns;
+        return heroId >= 0 && heroId < c.known.length && c.known[heroId];
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getKnownCount() {
+        return knownCount;
+    }
+
+    /**
+     * One more than the highest hero id the store can currently hold.
+     */
+    public int getCapacity() {
+        return columns.known.length;
+    }
+
+    public void putAll(Collection<HeroData> heroes) {
+        heroes.forEach(this::put);
+    }
+
+    public void put(HeroData hero) {
+        int id = Integer.parseInt(hero.id());
+        HeroStats stats = hero.stats();
+        Columns c = columns;
+        if (id < c.known.length && c.known[id]
+                && c.strength[id] == stats.strength()
+                && c.power[id] == stats.power()
+                && c.speed[id] == stats.speed()
+                && c.intelligence[id] == stats.intelligence()
+                && c.durability[id] == stats.durability()) {
+            return;
+        }
+
+        synchronized (this) {
+            c = columns;
+            if (id >= c.known.length) {
+                c = c.grow(Math.max(id + 1, c.known.length * 2));
+                columns = c;
+            }
+            boolean known = c.known[id];
+            c.strength[id] = stats.strength();
+            c.power[id] = stats.power();
+            c.speed[id] = stats.speed();
+            c.intelligence[id] = stats.intelligence();
+            c.durability[id] = stats.durability();
+            c.known[id] = true;
+            if (!known) {
+                knownCount++;
+            }
+            // published last: a reader that sees the new version also sees the new stats
+            version++;
+        }
+    }
+
+    /**
+     * Makes sure the heroes are in the store and returns the team as an int[] of hero ids.
+     */
+    public int[] register(List<HeroData> team) {
+        int[] ids = new int[team.size()];
+        for (int i = 0; i < ids.length; i++) {
+            HeroData hero = team.get(i);
+            put(hero);
+            ids[i] = Integer.parseInt(hero.id());
+        }
+        return ids;
+    }
+
+    public HeroStats get(int heroId) {
+        Columns c = columns;
+        return new HeroStats(c.strength[heroId], c.power[heroId], c.speed[heroId], c.intelligence[heroId], c.durability[heroId]);
+    }
+
+    /**
+     * Copies the five stats of each hero (strength, power, speed, intelligence, durability)
+     * into out, starting at out[offset]; no objects are created.
+     */
+    public void copyStats(int[] heroes, int[] out, int offset) {
+        Columns c = columns;
+        int o = offset;
+        for (int id : heroes) {
+            out[o++] = c.strength[id];
+            out[o++] = c.power[id];
+            out[o++] = c.speed[id];
+            out[o++] = c.intelligence[id];
+            out[o++] = c.durability[id];
+        }
+    }
+
+    public TeamStats teamStats(int[] team) {
+        return teamStats(team, 0, team.length);
+    }
+
+    /**
+     * Same model as before (dps = total offense * average speed / 100, defense = total
+     * defensive score), computed in one pass over heroes[offset .. offset + length).
+     */
+    public TeamStats teamStats(int[] heroes, int offset, int length) {
+        Columns c = columns;
+        long offense = 0;
+        long speed = 0;
+        int defense = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int id = heroes[i];
+            offense += c.strength[id] + c.power[id];
+            speed += c.speed[id];
+            defense += c.intelligence[id] + c.durability[id];
+        }
+        double avgSpeed = length == 0 ? 0 : (double) speed / length;
+        return new TeamStats((offense * avgSpeed) / 100, defense);
+    }
+
+    private static final class Columns {
+        final int[] strength;
+        final int[] power;
+        final int[] speed;
+        final int[] intelligence;
+        final int[] durability;
+        final boolean[] known;
+
+        Columns(int capacity) {
+            this(new int[capacity], new int[capacity], new int[capacity], new int[capacity], new int[capacity], new boolean[capacity]);
+        }
+
+        private Columns(int[] strength, int[] power, int[] speed, int[] intelligence, int[] durability, boolean[] known) {
+            this.strength = strength;
+            this.power = power;
+            this.speed = speed;
+            this.intelligence = intelligence;
+            this.durability = durability;
+            this.known = known;
+        }
+
+        Columns grow(int capacity) {
+            return new Columns(
+                    Arrays.copyOf(strength, capacity),
+                    Arrays.copyOf(power, capacity),
+                    Arrays.copyOf(speed, capacity),
+                    Arrays.copyOf(intelligence, capacity),
+                    Arrays.copyOf(durability, capacity),
+                    Arrays.copyOf(known, capacity)
+            );
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.TeamStats;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed battle outcomes for every single hero and every 2-hero team, in an off-heap,
+ * memory-mapped file, so matchmaking (MatchServiceImpl picking the AI team closest to the
+ * difficulty) gets an outcome in O(1) without computing TeamStats.
+ *
+ * In the survival model the outcome matrix has rank one: team a survives def(a) / dps(b),
+ * team b survives def(b) / dps(a), so the survival ratio of a against b is
+ * def(a) * dps(a) / (def(b) * dps(b)). Storing that strength per hero and per 2-hero team
+ * (about 268k floats, 1 MB) therefore answers every hero-vs-hero, team-vs-team and
+ * team-vs-hero query, instead of 731 x 731 (or 268k x reference set) ratios.
+ *
+ * Header (24 bytes): int magic "OUTC" | int format version | long generation (epoch millis)
+ *                    | int capacity (highest hero id + 1) | int reserved
+ * Body:              float strength[capacity] (single heroes)
+ *                    | float strength[capacity * (capacity - 1) / 2] (pairs a < b, at b * (b - 1) / 2 + a)
+ *
+ * Unknown heroes are stored as NaN. The file is rebuilt by the OutcomeMatrixJob into a temp
+ * file that is atomically moved over the old one; the previous file is mapped at startup,
+ * so outcomes are available before the first rebuild.
+ */
+@Component
+@Slf4j
+public class OutcomeMatrix {
+
+    static final int MAGIC = 0x4F555443; // "OUTC"
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 24;
+
+    private final HeroStatsStore heroStatsStore;
+    private final Path file;
+
+    private volatile Table table;
+
+    public OutcomeMatrix(HeroStatsStore heroStatsStore,
+                         @Value("${superhero.outcome-matrix.file:./data/outcome-matrix.bin}") Path file) {
+        this.heroStatsStore = heroStatsStore;
+        this.file = file;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                log.warn("Ignoring outcome matrix {}: not a supported matrix file", file);
+                return;
+            }
+            int capacity = buffer.getInt(16);
+            if (buffer.limit() < fileSize(capacity)) {
+                log.warn("Ignoring outcome matrix {}: truncated", file);
+                return;
+            }
+            table = new Table(buffer, capacity);
+            log.info("Mapped outcome matrix {} for {} hero ids (generation {})", file, capacity, buffer.getLong(8));
+        } catch (IOException e) {
+            log.warn("Could not map outcome matrix {}: {}", file, e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return table != null;
+    }
+
+    /**
+     * Strength of a single hero, NaN if the hero is not in the matrix.
+     */
+    public float strength(int hero) {
+        Table t = table;
+        if (t == null || hero < 0 || hero >= t.capacity) {
+            return Float.NaN;
+        }
+        return t.buffer.getFloat(HEADER_SIZE + 4 * hero);
+    }
+
+    /**
+     * Strength of the 2-hero team, NaN if one of them is not in the matrix.
+     */
+    public float strength(int heroA, int heroB) {
+        Table t = table;
+        int low = Math.min(heroA, heroB);
+        int high = Math.max(heroA, heroB);
+        if (t == null || low < 0 || high >= t.capacity || low == high) {
+            return Float.NaN;
+        }
+        return t.buffer.getFloat((int) pairOffset(t.capacity, low, high));
+    }
+
+    /**
+     * Strength of a team of one or two heroes, NaN for other team sizes or unknown heroes.
+     */
+    public float strength(int[] team) {
+        return switch (team.length) {
+            case 1 -> strength(team[0]);
+            case 2 -> strength(team[0], team[1]);
+            default -> Float.NaN;
+        };
+    }
+
+    /**
+     * Survival time of team1 divided by that of team2 (above 1 means team1 wins),
+     * NaN if not answerable from the matrix.
+     */
+    public float survivalRatio(int[] team1, int[] team2) {
+        return strength(team1) / strength(team2);
+    }
+
+    /**
+     * Recomputes the matrix from the HeroStatsStore in parallel (one task per pair row,
+     * each writing its own range of the mapped file) and swaps it in.
+     */
+    public void rebuild() throws IOException {
+        int capacity = heroStatsStore.getCapacity();
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+                buffer.order(ByteOrder.BIG_ENDIAN);
+                buffer.putInt(0, MAGIC)
+                        .putInt(4, FORMAT_VERSION)
+                        .putLong(8, System.currentTimeMillis())
+                        .putInt(16, capacity)
+                        .putInt(20, 0);
+
+                // absolute puts only, so the row tasks never share buffer state
+                IntStream.range(0, capacity).parallel().forEach(high -> {
+                    int[] team = new int[2];
+                    buffer.putFloat(HEADER_SIZE + 4 * high, heroStrength(team, high, -1));
+                    long offset = pairOffset(capacity, 0, high);
+                    for (int low = 0; low < high; low++) {
+                        buffer.putFloat((int) (offset + 4L * low), heroStrength(team, low, high));
+                    }
+                });
+                buffer.force();
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            table = new Table(buffer, capacity);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        log.info("Rebuilt outcome matrix {} for {} hero ids", file, capacity);
+    }
+
+    private float heroStrength(int[] team, int heroA, int heroB) {
+        if (!heroStatsStore.contains(heroA) || (heroB >= 0 && !heroStatsStore.contains(heroB))) {
+            return Float.NaN;
+        }
+        team[0] = heroA;
+        team[1] = heroB;
+        TeamStats stats = heroStatsStore.teamStats(team, 0, heroB >= 0 ? 2 : 1);
+        return (float) (stats.defense() * stats.damagePerSecond());
+    }
+
+    private static long pairOffset(int capacity, int low, int high) {
+        return HEADER_SIZE + 4L * capacity + 4L * ((long) high * (high - 1) / 2 + low);
+    }
+
+    private static long fileSize(int capacity) {
+        return pairOffset(capacity, 0, capacity);
+    }
+
+    private record Table(MappedByteBuffer buffer, int capacity) {}
+}
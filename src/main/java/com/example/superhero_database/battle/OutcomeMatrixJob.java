@@ -0,0 +1,42 @@
+package com.example.superhero_database.battle;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Rebuilds the OutcomeMatrix in the background whenever heroes were added to the
+ * HeroStatsStore or their stats changed since the last build.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutcomeMatrixJob {
+
+    private final HeroStatsStore heroStatsStore;
+    private final OutcomeMatrix outcomeMatrix;
+
+    private long builtVersion = -1;
+    private int builtCount = -1;
+
+    @Scheduled(initialDelayString = "${superhero.outcome-matrix.initial-delay:PT30S}",
+            fixedDelayString = "${superhero.outcome-matrix.refresh-interval:PT10M}")
+    public void refresh() {
+        long version = heroStatsStore.getVersion();
+        int count = heroStatsStore.getKnownCount();
+        if (count == 0 || (version == builtVersion && count == builtCount)) {
+            return;
+        }
+
+        try {
+            outcomeMatrix.rebuild();
+            builtVersion = version;
+            builtCount = count;
+        } catch (IOException e) {
+            log.warn("Could not rebuild the outcome matrix: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.TeamStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of TeamStats keyed by team composition.
+ *
+ * The same teams are played over and over, so the stats are computed once per composition.
+ * The key is order independent: the hero ids are sorted and packed into a long
+ * (12 bits per id, up to 5 heroes, team size in the top bits). Teams that do not fit
+ * are computed directly.
+ *
+ * The whole cache is dropped when the HeroStatsStore version changes, i.e. when a hero was
+ * added or its stats were updated by the catalog sync or a fresh upstream fetch. Teams
+ * computed while one of their heroes was still unknown (zero stats) go with it.
+ */
+@Component
+public class TeamStatsCache implements MeterBinder {
+
+    private static final int BITS_PER_HERO = 12;
+    private static final int MAX_HERO_ID = (1 << BITS_PER_HERO) - 1;
+    private static final int MAX_TEAM_SIZE = 5;
+
+    private final HeroStatsStore heroStatsStore;
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, TeamStats> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long version;
+
+    public TeamStatsCache(HeroStatsStore heroStatsStore,
+                          @Value("${superhero.team-stats-cache.max-size:10000}") int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("superhero.team-stats-cache.max-size must be positive");
+        }
+        this.heroStatsStore = heroStatsStore;
+        this.maxSize = maxSize;
+        this.version = heroStatsStore.getVersion();
+    }
+
+    /**
+     * Stats of a team whose heroes are already in the HeroStatsStore.
+     */
+    public TeamStats get(int[] team) {
+        long key = key(team);
+        if (key < 0) {
+            misses.increment();
+            return heroStatsStore.teamStats(team);
+        }
+
+        long currentVersion = heroStatsStore.getVersion();
+        synchronized (entries) {
+            if (currentVersion != version) {
+                entries.clear();
+                version = currentVersion;
+                invalidations.increment();
+            } else {
+                TeamStats cached = entries.get(key);
+                if (cached != null) {
+                    hits.increment();
+                    return cached;
+                }
+            }
+        }
+
+        misses.increment();
+        TeamStats stats = heroStatsStore.teamStats(team);
+        synchronized (entries) {
+            // only keep it if no stats changed while computing
+            if (version == currentVersion && heroStatsStore.getVersion() == currentVersion) {
+                entries.put(key, stats);
+                if (entries.size() > maxSize) {
+                    Iterator<Map.Entry<Long, TeamStats>> eldest = entries.entrySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        return stats;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("superhero.team.stats.cache.size", this, TeamStatsCache::size)
+                .description("Number of team compositions currently cached")
+                .register(registry);
+        Gauge.builder("superhero.team.stats.cache.hit.rate", this, TeamStatsCache::getHitRate)
+                .register(registry);
+        FunctionCounter.builder("superhero.team.stats.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("superhero.team.stats.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("superhero.team.stats.cache.invalidations", invalidations, LongAdder::sum)
+                .register(registry);
+    }
+
+    /**
+     * Canonical key of the team, or -1 if it cannot be packed into a long.
+     */
+    public static long key(int[] team) {
+        if (team.length == 0 || team.length > MAX_TEAM_SIZE) {
+            return -1;
+        }
+        int[] sorted = team.clone();
+        Arrays.sort(sorted);
+        if (sorted[0] < 0 || sorted[sorted.length - 1] > MAX_HERO_ID) {
+            return -1;
+        }
+        long key = team.length;
+        for (int id : sorted) {
+            key = (key << BITS_PER_HERO) | id;
+        }
+        return key;
+    }
+}
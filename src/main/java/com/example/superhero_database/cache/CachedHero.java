@@ -0,0 +1,9 @@
+package com.example.superhero_database.cache;
+
+import com.example.superhero_database.dto.battle.HeroData;
+
+/**
+ * One HeroCache entry: the typed hero used by the battle engine, plus the raw upstream
+ * JSON for the endpoints that return the full superheroapi.com payload.
+ */
+public record CachedHero(HeroData data, byte[] json) {}
@@ -0,0 +1,176 @@
+package com.example.superhero_database.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process cache of superheroapi.com heroes, keyed by hero id.
+ *
+ * Hero data almost never changes upstream, so the controller and the match service
+ * share this cache instead of doing a blocking HTTP round trip for every lookup.
+ *
+ * - Size bound: least recently used entries are evicted once max-size is reached
+ * - TTL: entries older than the configured ttl are treated as a miss, but are kept
+ *   (until evicted by size) so they can still be served stale while the upstream is down
+ * - Counters for hits, misses and evictions are published through Micrometer
+ *   (superhero.hero.cache.*) so the cache can be sized from real traffic
+ */
+@Component
+public class HeroCache implements MeterBinder {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+
+    // access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public HeroCache(@Value("${superhero.cache.max-size:1000}") int maxSize,
+                     @Value("${superhero.cache.ttl:PT6H}") Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("superhero.cache.max-size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public Optional<CachedHero> get(String id) {
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+            if (isExpired(entry, System.nanoTime())) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(entry.hero());
+        }
+    }
+
+    /**
+     * Same as get, but not counted as a hit or miss; for re-checks after a counted miss.
+     */
+    public Optional<CachedHero> peek(String id) {
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            if (entry == null || isExpired(entry, System.nanoTime())) {
+                return Optional.empty();
+            }
+            return Optional.of(entry.hero());
+        }
+    }
+
+    /**
+     * Returns the cached hero even if its ttl has passed.
+     * Used as a fallback when the upstream cannot be reached.
+     */
+    public Optional<CachedHero> getStale(String id) {
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            staleHits.increment();
+            return Optional.of(entry.hero());
+        }
+    }
+
+    public void put(String id, CachedHero hero) {
+        synchronized (entries) {
+            entries.put(id, new Entry(hero, System.nanoTime()));
+            if (entries.size() > maxSize) {
+                Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Ids of all heroes currently held, including expired ones that were not evicted yet.
+     */
+    public List<String> ids() {
+        synchronized (entries) {
+            return new ArrayList<>(entries.keySet());
+        }
+    }
+
+    public void invalidate(String id) {
+        synchronized (entries) {
+            entries.remove(id);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("superhero.hero.cache.size", this, HeroCache::size)
+                .description("Number of heroes currently cached")
+                .register(registry);
+        FunctionCounter.builder("superhero.hero.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("superhero.hero.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("superhero.hero.cache.requests", staleHits, LongAdder::sum)
+                .tag("result", "stale")
+                .register(registry);
+        FunctionCounter.builder("superhero.hero.cache.evictions", evictions, LongAdder::sum)
+                .register(registry);
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.storedAt() > ttlNanos;
+    }
+
+    private record Entry(CachedHero hero, long storedAt) {}
+}
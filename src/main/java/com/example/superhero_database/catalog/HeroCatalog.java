@@ -0,0 +1,124 @@
+package com.example.superhero_database.catalog;
+
+import com.example.superhero_database.battle.HeroPowerIndex;
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.model.Hero;
+import com.example.superhero_database.repository.HeroRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only, in-memory view of the heroes table.
+ *
+ * Loaded at startup, first from the memory-mapped HeroCatalogSnapshot (available within
+ * milliseconds, before any DB or upstream call), then merged with the heroes table.
+ * Updated by the HeroCatalogSyncJob after every synced batch. Every hero is also pushed
+ * into the HeroStatsStore and the HeroPowerIndex, so the battle engine has its stats and
+ * matchmaking its candidates before the first battle.
+ * In catalog mode (superhero.catalog.mode=catalog) hero lookups for battles are answered
+ * from here, so a battle costs a map lookup instead of superheroapi.com round trips.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HeroCatalog {
+
+    @Value("${superhero.catalog.mode:api}")
+    private String mode;
+
+    private final HeroRepository heroRepository;
+    private final HeroCatalogSnapshot heroCatalogSnapshot;
+    private final HeroStatsStore heroStatsStore;
+    private final HeroPowerIndex heroPowerIndex;
+
+    private volatile Map<String, HeroData> heroes = Map.of();
+
+    @PostConstruct
+    public void reload() {
+        Map<String, HeroData> loaded = new HashMap<>();
+        for (HeroData hero : heroCatalogSnapshot.load()) {
+            loaded.put(hero.id(), hero);
+        }
+
+        // the table is the source of truth, it wins over the snapshot
+        try {
+            for (Hero hero : heroRepository.findAll()) {
+                loaded.put(String.valueOf(hero.getId()), toHeroData(hero));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not load heroes table, serving the catalog snapshot only: {}", e.getMessage());
+        }
+        heroes = Map.copyOf(loaded);
+        heroStatsStore.putAll(loaded.values());
+        heroPowerIndex.putAll(loaded.values());
+        log.info("Hero catalog loaded with {} heroes (mode: {})", loaded.size(), mode);
+    }
+
+    public boolean isCatalogMode() {
+        return "catalog".equalsIgnoreCase(mode);
+    }
+
+    public Optional<HeroData> find(String id) {
+        return Optional.ofNullable(heroes.get(id));
+    }
+
+    public Collection<HeroData> getAll() {
+        return heroes.values();
+    }
+
+    public List<String> ids() {
+        return List.copyOf(heroes.keySet());
+    }
+
+    public int size() {
+        return heroes.size();
+    }
+
+    /**
+     * Merges freshly synced heroes into the view (copy-on-write, readers never block).
+     */
+    public synchronized void update(Collection<Hero> synced) {
+        Map<String, HeroData> updated = new HashMap<>(heroes);
+        for (Hero hero : synced) {
+            HeroData data = toHeroData(hero);
+            updated.put(data.id(), data);
+            heroStatsStore.put(data);
+            heroPowerIndex.put(data);
+        }
+        heroes = Map.copyOf(updated);
+    }
+
+    public static HeroData toHeroData(Hero hero) {
+        return new HeroData(
+                String.valueOf(hero.getId()),
+                hero.getName(),
+                hero.getImageUrl(),
+                new HeroStats(hero.getStrength(), hero.getPower(), hero.getSpeed(), hero.getIntelligence(), hero.getDurability())
+        );
+    }
+
+    public static Hero toEntity(HeroData data) {
+        Hero hero = new Hero();
+        hero.setId(Integer.valueOf(data.id()));
+        hero.setName(data.name());
+        hero.setImageUrl(data.imageUrl());
+        hero.setStrength(data.stats().strength());
+        hero.setPower(data.stats().power());
+        hero.setSpeed(data.stats().speed());
+        hero.setIntelligence(data.stats().intelligence());
+        hero.setDurability(data.stats().durability());
+        return hero;
+    }
+}
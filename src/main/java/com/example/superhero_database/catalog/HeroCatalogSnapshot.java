@@ -0,0 +1,168 @@
+package com.example.superhero_database.catalog;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact, fixed-layout binary snapshot of the hero catalog for instant warm starts.
+ *
+ * Header (24 bytes):  int magic "HERO" | int format version | long generation (epoch millis)
+ *                     | int record count | int record size
+ * Record (666 bytes): int id | int strength, power, speed, intelligence, durability
+ *                     | short length + 126 bytes UTF-8 name | short length + 512 bytes UTF-8 image url
+ *
+ * The file is read through a read-only MappedByteBuffer, so a fresh JVM decodes the whole
+ * catalog in well under a millisecond and several JVMs on one host share the page cache.
+ * It is rewritten after every catalog refresh to a temp file that is atomically moved
+ * over the old one; readers see either the old or the new snapshot, never a torn one.
+ * Heroes whose name or url does not fit its slot are left out rather than truncated (they
+ * still come from the heroes table), and a damaged file is ignored with a warning.
+ */
+@Component
+@Slf4j
+public class HeroCatalogSnapshot {
+
+    static final int MAGIC = 0x4845524F; // "HERO"
+    static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_SIZE = 24;
+    private static final int NAME_BYTES = 126;
+    // the heroes.image_url column holds 512 characters
+    private static final int URL_BYTES = 512;
+    private static final int RECORD_SIZE = 4 + 5 * 4 + 2 + NAME_BYTES + 2 + URL_BYTES;
+
+    private final Path file;
+
+    public HeroCatalogSnapshot(@Value("${superhero.catalog.snapshot-file:./data/hero-catalog.bin}") Path file) {
+        this.file = file;
+    }
+
+    public List<HeroData> load() {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                log.warn("Ignoring hero catalog snapshot {}: not a snapshot file", file);
+                return List.of();
+            }
+            int version = buffer.getInt();
+            long generation = buffer.getLong();
+            int count = buffer.getInt();
+            int recordSize = buffer.getInt();
+            if (version != FORMAT_VERSION || recordSize != RECORD_SIZE) {
+                log.warn("Ignoring hero catalog snapshot {}: format version {} / record size {} not supported",
+                        file, version, recordSize);
+                return List.of();
+            }
+            if (count < 0 || buffer.remaining() < (long) count * RECORD_SIZE) {
+                log.warn("Ignoring hero catalog snapshot {}: record count {} does not match the file size", file, count);
+                return List.of();
+            }
+
+            List<HeroData> heroes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int id = buffer.getInt();
+                HeroStats stats = new HeroStats(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+                String name = readString(buffer, NAME_BYTES);
+                String imageUrl = readString(buffer, URL_BYTES);
+                heroes.add(new HeroData(String.valueOf(id), name, imageUrl, stats));
+            }
+            log.info("Loaded {} heroes from catalog snapshot {} (generation {})", count, file, generation);
+            return heroes;
+        } catch (IOException | RuntimeException e) {
+            // a corrupt snapshot must never keep the application from starting
+            log.warn("Could not read hero catalog snapshot {}: {}", file, e.toString());
+            return List.of();
+        }
+    }
+
+    public void write(Collection<HeroData> heroes) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + heroes.size() * RECORD_SIZE).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(System.currentTimeMillis())
+                .putInt(heroes.size())
+                .putInt(RECORD_SIZE);
+        int written = 0;
+        for (HeroData hero : heroes) {
+            byte[] name = encode(hero.name());
+            byte[] imageUrl = encode(hero.imageUrl());
+            if (name.length > NAME_BYTES || imageUrl.length > URL_BYTES) {
+                log.debug("Hero {} left out of the catalog snapshot, name or image url too long", hero.id());
+                continue;
+            }
+            HeroStats stats = hero.stats();
+            buffer.putInt(Integer.parseInt(hero.id()))
+                    .putInt(stats.strength())
+                    .putInt(stats.power())
+                    .putInt(stats.speed())
+                    .putInt(stats.intelligence())
+                    .putInt(stats.durability());
+            writeString(buffer, name, NAME_BYTES);
+            writeString(buffer, imageUrl, URL_BYTES);
+            written++;
+        }
+        buffer.putInt(16, written);
+        buffer.flip();
+
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        log.info("Wrote hero catalog snapshot {} with {} heroes", file, written);
+    }
+
+    private static String readString(ByteBuffer buffer, int maxBytes) {
+        int length = buffer.getShort();
+        if (length < 0 || length > maxBytes) {
+            throw new IllegalArgumentException("string length " + length + " outside its " + maxBytes + " byte slot");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        buffer.position(buffer.position() + maxBytes - length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(ByteBuffer buffer, byte[] bytes, int maxBytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+        buffer.position(buffer.position() + maxBytes - bytes.length);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.superhero_database.catalog;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.model.Hero;
+import com.example.superhero_database.repository.HeroRepository;
+import com.example.superhero_database.service.SuperheroApiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Keeps the heroes table in sync with superheroapi.com.
+ *
+ * Each run only touches heroes that are missing or older than superhero.catalog.max-age,
+ * and fetches them in batches of superhero.catalog.batch-size with a pause of
+ * superhero.catalog.batch-delay in between, so the upstream never sees a burst.
+ * After a run that changed anything, the binary HeroCatalogSnapshot is rebuilt.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HeroCatalogSyncJob {
+
+    @Value("${superhero.catalog.batch-size:25}")
+    private int batchSize;
+
+    @Value("${superhero.catalog.batch-delay:PT1S}")
+    private Duration batchDelay;
+
+    @Value("${superhero.catalog.max-age:P1D}")
+    private Duration maxAge;
+
+    private final SuperheroApiService superheroApiService;
+    private final HeroRepository heroRepository;
+    private final HeroCatalog heroCatalog;
+    private final HeroCatalogSnapshot heroCatalogSnapshot;
+
+    @Scheduled(initialDelayString = "${superhero.catalog.initial-delay:PT10S}",
+            fixedDelayString = "${superhero.catalog.refresh-interval:PT1H}")
+    public void sync() {
+        List<String> ids = idsToRefresh();
+        if (ids.isEmpty()) {
+            return;
+        }
+        log.info("Hero catalog sync: {} heroes to refresh", ids.size());
+
+        int synced = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<String> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            List<Hero> heroes = new ArrayList<>(batch.size());
+            Date now = new Date();
+            for (HeroData data : superheroApiService.findHeroData(batch).values()) {
+                Hero hero = HeroCatalog.toEntity(data);
+                hero.setUpdatedAt(now);
+                heroes.add(hero);
+            }
+
+            heroRepository.saveAll(heroes);
+            heroCatalog.update(heroes);
+            synced += heroes.size();
+
+            if (!pause()) {
+                break;
+            }
+        }
+        log.info("Hero catalog sync done: {} of {} heroes refreshed", synced, ids.size());
+
+        if (synced > 0) {
+            writeSnapshot();
+        }
+    }
+
+    private void writeSnapshot() {
+        try {
+            heroCatalogSnapshot.write(heroCatalog.getAll());
+        } catch (IOException e) {
+            log.warn("Could not write hero catalog snapshot: {}", e.getMessage());
+        }
+    }
+
+    private List<String> idsToRefresh() {
+        Set<Integer> known = new HashSet<>(heroRepository.findAllIds());
+        Set<Integer> refresh = new HashSet<>();
+        IntStream.rangeClosed(1, SuperheroApiService.HERO_COUNT)
+                .filter(id -> !known.contains(id))
+                .forEach(refresh::add);
+        heroRepository.findByUpdatedAtBefore(new Date(System.currentTimeMillis() - maxAge.toMillis()))
+                .forEach(hero -> refresh.add(hero.getId()));
+
+        return refresh.stream().sorted().map(String::valueOf).toList();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchDelay.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.superhero_database.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated, bounded executor for resolving heroes from superheroapi.com in parallel.
+ * Kept separate from the Tomcat workers so a slow upstream can only ever tie up
+ * superhero.fetch.threads threads; when the queue is full the caller runs the fetch itself.
+ */
+@Configuration
+public class HeroFetchConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService heroFetchExecutor(@Value("${superhero.fetch.threads:16}") int threads,
+                                             @Value("${superhero.fetch.queue-capacity:256}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "hero-fetch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.superhero_database.configuration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Match ids used to come from an IDENTITY column. The matches_seq sequence created by the
+ * schema update starts at 1, so before the first insert it is moved past the highest
+ * existing id (never backwards). With the pooled optimizer a sequence value v hands out
+ * the block (v - 49 .. v], hence the extra allocation size. The increment is set to the
+ * allocation size as well, a sequence left with another increment would hand out
+ * overlapping blocks.
+ */
+@Component
+@DependsOn("entityManagerFactory") // the schema update creates the sequence
+@RequiredArgsConstructor
+@Slf4j
+public class MatchSequenceInitializer {
+
+    // must equal the allocationSize of Match.id's @SequenceGenerator
+    static final int ALLOCATION_SIZE = 50;
+
+    static final String ALIGN_INCREMENT = "ALTER SEQUENCE matches_seq INCREMENT BY " + ALLOCATION_SIZE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequence() {
+        try {
+            jdbcTemplate.execute(ALIGN_INCREMENT);
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('matches_seq', GREATEST("
+                            + "(SELECT COALESCE(MAX(id), 0) FROM matches) + ?, "
+                            + "(SELECT last_value FROM matches_seq)))",
+                    Long.class, ALLOCATION_SIZE);
+            log.info("matches_seq aligned at {}", value);
+        } catch (DataAccessException e) {
+            log.warn("Could not align matches_seq with the matches table: {}", e.getMessage());
+        }
+    }
+}
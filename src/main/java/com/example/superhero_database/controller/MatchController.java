@@ -1,17 +1,27 @@
 package com.example.superhero_database.controller;
 
-import com.example.superhero_database.dto.battle.BattleResult;
-import com.example.superhero_database.dto.battle.HeroData;
-import com.example.superhero_database.model.Match;
+import com.example.superhero_database.battle.Difficulty;
+import com.example.superhero_database.dto.battle.BattleResponse;
+import com.example.superhero_database.dto.battle.BattleStart;
+import com.example.superhero_database.dto.battle.BulkBattleRequest;
+import com.example.superhero_database.dto.battle.BulkBattleResponse;
+import com.example.superhero_database.dto.battle.CounterTeam;
 import com.example.superhero_database.model.User;
+import com.example.superhero_database.service.BattleReplayService;
+import com.example.superhero_database.service.CounterTeamService;
 import com.example.superhero_database.service.MatchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -22,35 +32,61 @@ import java.util.Map;
 public class MatchController {
 
     private final MatchService matchService;
+    private final BattleReplayService battleReplayService;
+    private final CounterTeamService counterTeamService;
 
     @PostMapping("/start")
-    public ResponseEntity<?> startBattle(@RequestBody Map<String, List<String>> request) {
+    public ResponseEntity<BattleStart> startBattle(
+            @AuthenticationPrincipal User user,
+            @RequestBody Map<String, List<String>> request,
+            @RequestParam(defaultValue = "NORMAL") String difficulty) {
         List<String> playerTeam = request.get("playerTeam");
-        // Generate AI team and return both teams
-        return ResponseEntity.ok(matchService.generateBattle(playerTeam));
+        // Match an AI team to the player's team and keep both server-side under the returned battleId
+        return ResponseEntity.ok(matchService.generateBattle(user, playerTeam, Difficulty.of(difficulty)));
     }
 
     @PostMapping("/simulate")
-    public ResponseEntity<?> simulateBattle(
+    public ResponseEntity<BattleResponse> simulateBattle(
             @AuthenticationPrincipal User user,
-            @RequestBody Map<String, List<String>> request) {
-
-        List<String> playerTeamIds = request.get("playerTeam");
-        List<String> aiTeamIds = request.get("aiTeam");
-
-        // Convert IDs to HeroData
-        List<HeroData> playerTeam = matchService.fetchFullHeroData(playerTeamIds);
-        List<HeroData> aiTeam = matchService.fetchFullHeroData(aiTeamIds);
-
-        Map<String, Object> battleResult = matchService.simulateBattle(playerTeam, aiTeam);
+            @RequestBody Map<String, String> request,
+            @RequestParam(defaultValue = "classic") String engine) {
+        // simulates the started battle once (engine: classic or tick) and records the match from the same result
+        return ResponseEntity.ok(matchService.playBattle(user, request.get("battleId"), engine));
+    }
 
-        // Extract victory from the nested result structure
-        Map<String, Object> result = (Map<String, Object>) battleResult.get("result");
-        boolean victory = (boolean) result.get("victory");
+    /**
+     * Evaluates many matchups in one call, e.g. for balance testing and the bot ladder.
+     * See BulkBattleRequest for the compact matchup encoding. Nothing is persisted unless
+     * "persist" is set.
+     */
+    @PostMapping("/simulate/bulk")
+    public ResponseEntity<BulkBattleResponse> simulateBulk(
+            @AuthenticationPrincipal User user,
+            @RequestBody BulkBattleRequest request) {
+        return ResponseEntity.ok(matchService.simulateBulk(user, request));
+    }
 
-        // Create the match with the extracted victory value
-        Match match = matchService.createMatch(user, playerTeam, aiTeam, victory);
+    /**
+     * Streams the event timeline (attacks, damage, knockouts) of one of the player's matches
+     * as Server-Sent Events, regenerated from the match's engine and seed.
+     * speed scales the pacing (2 = twice as fast, 0 = no pacing).
+     */
+    @GetMapping(value = "/{id}/replay", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter replayBattle(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") double speed) {
+        return battleReplayService.replay(user, id, speed);
+    }
 
-        return ResponseEntity.ok(battleResult);
+    /**
+     * Top 2-hero teams beating the opponent team (comma separated hero ids) by the widest
+     * survival time margin.
+     */
+    @GetMapping("/counter")
+    public ResponseEntity<List<CounterTeam>> counterTeams(
+            @RequestParam List<Integer> opponent,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(counterTeamService.findCounters(opponent, limit));
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,23 @@
 package com.example.superhero_database.controller;
 
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.superhero_database.dto.CachedImage;
+import com.example.superhero_database.dto.HeroBatchResponse;
+import com.example.superhero_database.service.HeroImageService;
+import com.example.superhero_database.service.SuperheroApiService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.beans.factory.annotation.Value;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,36 +27,65 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SuperheroApiController {
 
-    @Value("${superhero.api.key}")
-    private String apiKey;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
 
-    private final RestTemplate restTemplate;
+    private final SuperheroApiService superheroApiService;
+    private final HeroImageService heroImageService;
 
     @Autowired
-    public SuperheroApiController() {
-        this.restTemplate = new RestTemplate();
-        this.restTemplate.getMessageConverters().add(new MappingJackson2HttpMessageConverter());
+    public SuperheroApiController(SuperheroApiService superheroApiService, HeroImageService heroImageService) {
+        this.superheroApiService = superheroApiService;
+        this.heroImageService = heroImageService;
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getSuperhero(@PathVariable String id) {
-        String apiUrl = String.format("https://superheroapi.com/api/%s/%s", apiKey, id);
-
         try {
-            Object response = restTemplate.getForObject(apiUrl, Object.class);
+            Object response = superheroApiService.getHero(id);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching superhero: " + e.getMessage());
         }
     }
 
-    @GetMapping("/search/{name}")
-    public ResponseEntity<?> searchSuperheroes(@PathVariable String name) {
-        String apiUrl = String.format("https://superheroapi.com/api/%s/search/%s", apiKey, name);
+    /**
+     * Resolves several heroes in one request, e.g. for the team selection page.
+     * Expects {"ids": ["1", "70", ...]}; duplicates are ignored and ids that cannot
+     * be resolved are listed under "errors" instead of failing the whole batch.
+     *
+     * @param request body holding the hero ids
+     * @return heroes keyed by id plus per-id errors
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getSuperheroes(@RequestBody Map<String, List<String>> request) {
+        List<String> ids = request.get("ids");
+        if (ids == null || ids.isEmpty()) {
+            return ResponseEntity.badRequest().body("Error: no hero ids given");
+        }
 
         try {
-            ResponseEntity<Object> response = restTemplate.getForEntity(apiUrl, Object.class);
-            return ResponseEntity.ok(response.getBody());
+            HeroBatchResponse response = superheroApiService.getHeroes(ids);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error fetching superhero batch: ", e);
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Name search, answered from the local hero search index.
+     *
+     * @param name  name or name prefix, case and accents are ignored
+     * @param limit maximum number of ranked results
+     */
+    @GetMapping("/search/{name}")
+    public ResponseEntity<?> searchSuperheroes(@PathVariable String name,
+                                               @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(superheroApiService.searchHeroes(name, limit));
         } catch (Exception e) {
             log.error("Error searching superheroes: ", e);
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
@@ -59,34 +94,14 @@ public class SuperheroApiController {
 
     @GetMapping("/{id}/image")
     public ResponseEntity<?> getSuperheroImage(@PathVariable String id) {
-        String apiUrl = String.format("https://superheroapi.com/api/%s/%s/image", apiKey, id);
-
         System.out.println("Fetching superhero image for ID: " + id);
-        System.out.println("Using URL: " + apiUrl);
 
         try {
-            // Configure headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-
-            // Create HTTP entity with headers
-            HttpEntity<?> entity = new HttpEntity<>(headers);
-
-            // Make the request
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    apiUrl,
-                    HttpMethod.GET,
-                    null,
-                    Map.class
-            );
-
-            // Log the response
-            System.out.println("Received response from superhero API");
-            System.out.println("Response body: " + response.getBody());
-
+            // Derived from the cached hero payload, no extra upstream request
+            Map<String, Object> response = superheroApiService.getImage(id);
 
             return ResponseEntity
-                    .ok(response.getBody());
+                    .ok(response);
 
         } catch (Exception e) {
             log.error("Error fetching superhero: ", e);
@@ -101,6 +116,56 @@ public class SuperheroApiController {
         }
     }
 
+    /**
+     * Serves the hero image bytes from the local image cache.
+     * The first request downloads and stores the image, every later one is served from disk:
+     * through Tomcat's sendfile support when available, otherwise with FileChannel.transferTo,
+     * so the bytes are never copied onto the heap. The content hash is used as strong ETag.
+     *
+     * @param id hero id
+     */
+    @GetMapping("/{id}/image/file")
+    public void getSuperheroImageFile(@PathVariable String id,
+                                      HttpServletRequest request,
+                                      HttpServletResponse response) throws IOException {
+        CachedImage image;
+        try {
+            image = heroImageService.getImage(id);
+        } catch (Exception e) {
+            log.error("Error fetching superhero image file: ", e);
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Error fetching superhero image: " + e.getMessage());
+            return;
+        }
+
+        String etag = "\"" + image.hash() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(30, TimeUnit.DAYS).cachePublic().getHeaderValue());
+
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(image.contentType());
+        response.setContentLengthLong(image.size());
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat streams the file with sendfile once the request completes
+            request.setAttribute(SENDFILE_FILENAME, image.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, image.size());
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < image.size()) {
+                position += file.transferTo(position, image.size() - position, out);
+            }
+        }
+    }
+
     /**
      * Get the power stats of the Hero
      * Intelligence
@@ -115,10 +180,8 @@ public class SuperheroApiController {
      */
     @GetMapping("/{id}/powerstats")
     public ResponseEntity<?> getHeroPowerStats(@PathVariable String id) {
-        String apiUrl = String.format("https://superheroapi.com/api/%s/%s/powerstats", apiKey, id);
-
         try {
-            Object response = restTemplate.getForObject(apiUrl, Object.class);
+            Object response = superheroApiService.getPowerStats(id);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error fetching hero stats: ", e);
@@ -136,14 +199,7 @@ public class SuperheroApiController {
     @GetMapping("/random")
     public ResponseEntity<?> getRandomHeroes(@RequestParam(defaultValue = "3") int count) {
         try {
-            // SuperheroAPI has 731 heroes total
-            List<Object> heroes = new ArrayList<>();
-            for (int i = 0; i < count; i++) {
-                int randomId = (int) (Math.random() * 731) + 1;
-                String apiUrl = String.format("https://superheroapi.com/api/%s/%d", apiKey, randomId);
-                Object hero = restTemplate.getForObject(apiUrl, Object.class);
-                heroes.add(hero);
-            }
+            List<Map<String, Object>> heroes = superheroApiService.getRandomHeroes(count);
             return ResponseEntity.ok(heroes);
         } catch (Exception e) {
             log.error("Error fetching random heroes: ", e);
@@ -0,0 +1,40 @@
+package com.example.superhero_database.controller;
+
+import com.example.superhero_database.dto.battle.TournamentRequest;
+import com.example.superhero_database.dto.battle.TournamentStatus;
+import com.example.superhero_database.service.TournamentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/battle/tournament")
+@RequiredArgsConstructor
+public class TournamentController {
+
+    private final TournamentService tournamentService;
+
+    /**
+     * Starts a round-robin or Swiss tournament in the background.
+     * Poll GET /api/battle/tournament/{id} for progress and standings.
+     */
+    @PostMapping
+    public ResponseEntity<TournamentStatus> startTournament(@RequestBody TournamentRequest request) {
+        return ResponseEntity.accepted().body(tournamentService.startTournament(request));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TournamentStatus> getTournament(@PathVariable String id,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        return tournamentService.getTournament(id, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<TournamentStatus> cancelTournament(@PathVariable String id) {
+        return tournamentService.cancelTournament(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
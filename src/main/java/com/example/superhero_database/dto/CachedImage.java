@@ -0,0 +1,9 @@
+package com.example.superhero_database.dto;
+
+import java.nio.file.Path;
+
+/**
+ * A hero image stored in the local content-addressed image cache.
+ * hash is the SHA-256 of the image bytes and doubles as the strong ETag.
+ */
+public record CachedImage(Path path, String hash, String contentType, long size) {}
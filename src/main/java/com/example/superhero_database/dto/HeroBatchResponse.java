@@ -0,0 +1,10 @@
+package com.example.superhero_database.dto;
+
+import java.util.Map;
+
+/**
+ * Response of POST /api/superheroapi/batch
+ * heroes: hero payloads keyed by id, in request order (duplicates removed)
+ * errors: per-id error messages for ids that could not be resolved
+ */
+public record HeroBatchResponse(Map<String, Object> heroes, Map<String, String> errors) {}
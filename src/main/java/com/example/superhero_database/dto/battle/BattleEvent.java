@@ -0,0 +1,34 @@
+package com.example.superhero_database.dto.battle;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One entry of a battle replay stream; time is in battle seconds.
+ * type is start, attack, ko or end, only the fields of that type are set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BattleEvent(
+        String type,
+        double time,
+        String attacker,
+        String target,
+        Integer damage,
+        Integer remainingHp,
+        Boolean victory
+) {
+    public static BattleEvent start() {
+        return new BattleEvent("start", 0, null, null, null, null, null);
+    }
+
+    public static BattleEvent attack(double time, int attacker, int target, int damage, int remainingHp) {
+        return new BattleEvent("attack", time, String.valueOf(attacker), String.valueOf(target), damage, remainingHp, null);
+    }
+
+    public static BattleEvent knockout(double time, int hero) {
+        return new BattleEvent("ko", time, null, String.valueOf(hero), null, null, null);
+    }
+
+    public static BattleEvent end(double time, boolean victory) {
+        return new BattleEvent("end", time, null, null, null, null, victory);
+    }
+}
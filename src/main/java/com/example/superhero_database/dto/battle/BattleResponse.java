@@ -0,0 +1,27 @@
+package com.example.superhero_database.dto.battle;
+
+/**
+ * Response of /api/battle/simulate, in the shape the frontend expects:
+ * { matchId, result: {victory, ...}, teamStats: {player: {...}, ai: {...}} }
+ */
+public record BattleResponse(
+        String matchId,
+        BattleResult result,
+        BattleTeamStats teamStats
+) {
+    public record BattleTeamStats(TeamScore player, TeamScore ai) {}
+
+    public record TeamScore(double offensiveScore, int defensiveScore) {
+        static TeamScore of(TeamStats stats) {
+            return new TeamScore(stats.damagePerSecond(), stats.defense());
+        }
+    }
+
+    public static BattleResponse of(String matchId, BattleResult result) {
+        return new BattleResponse(
+                matchId,
+                result,
+                new BattleTeamStats(TeamScore.of(result.team1Stats()), TeamScore.of(result.team2Stats()))
+        );
+    }
+}
@@ -1,7 +1,21 @@
 package com.example.superhero_database.dto.battle;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Outcome of one battle, team 1 being the player. The team stats are kept so the
+ * result can be persisted and rendered without computing them again.
+ */
 public record BattleResult (
     boolean victory,
     double team1SurvivalTime,
-    double team2SurvivalTime
-){}
+    double team2SurvivalTime,
+    @JsonIgnore TeamStats team1Stats,
+    @JsonIgnore TeamStats team2Stats
+){
+    public static BattleResult of(TeamStats team1Stats, TeamStats team2Stats) {
+        double team1Survival = team1Stats.survivalTime(team2Stats);
+        double team2Survival = team2Stats.survivalTime(team1Stats);
+        return new BattleResult(team1Survival > team2Survival, team1Survival, team2Survival, team1Stats, team2Stats);
+    }
+}
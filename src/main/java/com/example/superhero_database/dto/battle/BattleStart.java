@@ -0,0 +1,12 @@
+package com.example.superhero_database.dto.battle;
+
+import java.util.List;
+
+/**
+ * Response of /api/battle/start; the battle id is all /api/battle/simulate needs.
+ */
+public record BattleStart(
+        String battleId,
+        List<HeroData> playerTeam,
+        List<HeroData> aiTeam
+) {}
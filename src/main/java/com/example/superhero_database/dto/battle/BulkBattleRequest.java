@@ -0,0 +1,16 @@
+package com.example.superhero_database.dto.battle;
+
+/**
+ * Request of POST /api/battle/simulate/bulk
+ *
+ * heroes holds the matchups back to back in one flat array: every matchup is teamSize
+ * hero ids of team 1 followed by teamSize hero ids of team 2.
+ * persist: also store every matchup as a Match row (off by default)
+ * includeSurvivalTimes: also return both survival times per matchup
+ */
+public record BulkBattleRequest(
+        int teamSize,
+        int[] heroes,
+        boolean persist,
+        boolean includeSurvivalTimes
+) {}
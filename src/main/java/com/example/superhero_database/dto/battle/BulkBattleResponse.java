@@ -0,0 +1,16 @@
+package com.example.superhero_database.dto.battle;
+
+/**
+ * Response of POST /api/battle/simulate/bulk
+ *
+ * outcomes has one byte per matchup (1 = team 1 wins, 0 = team 2 wins) and is serialized
+ * as base64 to keep large responses small. The survival time arrays are only filled when
+ * they were requested.
+ */
+public record BulkBattleResponse(
+        int matchups,
+        int team1Wins,
+        byte[] outcomes,
+        float[] team1SurvivalTimes,
+        float[] team2SurvivalTimes
+) {}
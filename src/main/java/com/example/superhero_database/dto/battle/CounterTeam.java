@@ -0,0 +1,13 @@
+package com.example.superhero_database.dto.battle;
+
+import java.util.List;
+
+/**
+ * A 2-hero team recommended against an opponent; margin is survivalTime - opponentSurvivalTime.
+ */
+public record CounterTeam(
+        List<String> heroIds,
+        double survivalTime,
+        double opponentSurvivalTime,
+        double margin
+) {}
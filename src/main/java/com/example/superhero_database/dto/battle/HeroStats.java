@@ -1,6 +1,6 @@
 package com.example.superhero_database.dto.battle;
 
-import java.util.Map;
+import java.util.SplittableRandom;
 
 public record HeroStats(
         int strength,
@@ -10,21 +10,36 @@ public record HeroStats(
         int durability
 ) {
 
-    public static HeroStats fromApi(Map<String, String> apiStats) {
+    /**
+     * The upstream answers "null" for many unknown stats. Those are filled with a value in
+     * 5 - 74 drawn from a generator seeded with the given seed (see seedFor), so the same
+     * hero always gets the same stats and they can be cached, precomputed and replayed.
+     */
+    public static HeroStats parse(long seed, String strength, String power, String speed, String intelligence, String durability) {
+        // one draw per stat whether it is missing or not, so each stat's fill is independent of the others
+        SplittableRandom fill = new SplittableRandom(seed);
         return new HeroStats(
-                parseOrRandom(apiStats.get("strength")),
-                parseOrRandom(apiStats.get("power")),
-                parseOrRandom(apiStats.get("speed")),
-                parseOrRandom(apiStats.get("intelligence")),
-                parseOrRandom(apiStats.get("durability"))
+                parseOrFill(strength, fill.nextInt(5, 75)),
+                parseOrFill(power, fill.nextInt(5, 75)),
+                parseOrFill(speed, fill.nextInt(5, 75)),
+                parseOrFill(intelligence, fill.nextInt(5, 75)),
+                parseOrFill(durability, fill.nextInt(5, 75))
         );
     }
 
-    private static int parseOrRandom(String value) {
+    public static long seedFor(String heroId, long salt) {
+        long seed = salt;
+        for (int i = 0; i < heroId.length(); i++) {
+            seed = 31 * seed + heroId.charAt(i);
+        }
+        return seed;
+    }
+
+    private static int parseOrFill(String value, int fill) {
         try {
             return Integer.parseInt(value);
         } catch (NumberFormatException e) {
-            return (int)(Math.random() * 70) + 5;
+            return fill;
         }
     }
 
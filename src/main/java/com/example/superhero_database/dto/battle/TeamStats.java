@@ -4,7 +4,13 @@ public record TeamStats(
         double damagePerSecond,
         int defense
 ) {
+    /**
+     * Seconds this team holds out against the opponent; infinite if the opponent deals no damage.
+     */
     public double survivalTime(TeamStats opponent) {
+        if (opponent.damagePerSecond <= 0) {
+            return Double.POSITIVE_INFINITY;
+        }
         return defense / opponent.damagePerSecond;
     }
 }
@@ -0,0 +1,18 @@
+package com.example.superhero_database.dto.battle;
+
+import java.util.List;
+
+/**
+ * Request of POST /api/battle/tournament
+ *
+ * Either teams (explicit hero id lists) or heroes (a hero subset, every 2-hero team of it
+ * takes part) must be given.
+ * format: ROUND_ROBIN (default) or SWISS
+ * rounds: number of Swiss rounds, defaults to ceil(log2(teams)), clamped to 1 - (teams - 1)
+ */
+public record TournamentRequest(
+        List<List<Integer>> teams,
+        List<Integer> heroes,
+        String format,
+        Integer rounds
+) {}
@@ -0,0 +1,11 @@
+package com.example.superhero_database.dto.battle;
+
+import java.util.List;
+
+public record TournamentStanding(
+        int rank,
+        List<Integer> heroIds,
+        int wins,
+        int losses,
+        int draws
+) {}
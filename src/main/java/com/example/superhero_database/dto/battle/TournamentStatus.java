@@ -0,0 +1,19 @@
+package com.example.superhero_database.dto.battle;
+
+import java.util.List;
+
+/**
+ * Progress and (once finished) standings of a tournament.
+ * status: RUNNING, COMPLETED, CANCELLED or FAILED
+ */
+public record TournamentStatus(
+        String id,
+        String format,
+        String status,
+        int teams,
+        long battlesTotal,
+        long battlesDone,
+        double progress,
+        String error,
+        List<TournamentStanding> standings
+) {}
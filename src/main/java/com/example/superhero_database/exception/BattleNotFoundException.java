@@ -0,0 +1,7 @@
+package com.example.superhero_database.exception;
+
+public class BattleNotFoundException extends SuperheroApiException {
+    public BattleNotFoundException(String battleId) {
+        super("Battle not found or expired: " + battleId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.superhero_database.exception;
+
+public class CircuitOpenException extends SuperheroApiException {
+    public CircuitOpenException(String name) {
+        super("Circuit breaker '" + name + "' is open, call not permitted");
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.superhero_database.exception;
+
+/**
+ * The upstream answered that no hero has this id ("invalid id").
+ */
+public class InvalidHeroIdException extends SuperheroApiException {
+    public InvalidHeroIdException(String heroId) {
+        super("Error fetching superhero " + heroId + ": invalid id");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.superhero_database.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Local copy of one superheroapi.com hero, kept in sync by the HeroCatalogSyncJob.
+ * The id is the upstream hero id (not generated), the powerstats are stored already parsed.
+ */
+@Entity
+@Table(name = "heroes")
+@Data
+@NoArgsConstructor
+public class Hero {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "image_url", length = 512)
+    private String imageUrl;
+
+    private int strength;
+    private int power;
+    private int speed;
+    private int intelligence;
+    private int durability;
+
+    @Column(name = "updated_at")
+    private Date updatedAt;
+}
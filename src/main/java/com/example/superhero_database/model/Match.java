@@ -12,8 +12,10 @@ import java.util.*;
 @NoArgsConstructor
 public class Match {
 
+    // pooled sequence instead of IDENTITY, so Hibernate can batch match and hero inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "matches_seq")
+    @SequenceGenerator(name = "matches_seq", sequenceName = "matches_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -46,4 +48,11 @@ public class Match {
     private Double survivalTimeOpponent;
 
     private boolean victory;
+
+    // battle engine and seed the match was decided with, enough to regenerate its replay
+    @Column(name = "engine")
+    private String engine;
+
+    @Column(name = "seed")
+    private Long seed;
 }
@@ -0,0 +1,121 @@
+package com.example.superhero_database.parser;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.exception.InvalidHeroIdException;
+import com.example.superhero_database.exception.SuperheroApiException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Turns a superheroapi.com hero payload into HeroData with Jackson's token stream.
+ *
+ * Only response/error, name, image.url and the five powerstats the battle engine uses are
+ * read; biography, appearance, work and connections are skipped token by token, so no
+ * intermediate Map tree is built on the battle path. toMap is only used by the endpoints
+ * that hand the complete payload to the client. Missing stats are filled deterministically
+ * per hero id and superhero.stats.fill-salt (see HeroStats.parse).
+ */
+@Component
+public class HeroPayloadParser {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+    private static final String INVALID_ID = "invalid id";
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+    private final long statsSalt;
+
+    public HeroPayloadParser(ObjectMapper objectMapper,
+                             @Value("${superhero.stats.fill-salt:0}") long statsSalt) {
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+        this.statsSalt = statsSalt;
+    }
+
+    public HeroData parse(String id, byte[] json) {
+        String response = null;
+        String error = null;
+        String name = null;
+        String imageUrl = null;
+        String strength = null, power = null, speed = null, intelligence = null, durability = null;
+
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new SuperheroApiException("Malformed payload for superhero " + id);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "response" -> response = parser.getValueAsString();
+                    case "error" -> error = parser.getValueAsString();
+                    case "name" -> name = parser.getValueAsString();
+                    case "image" -> {
+                        if (parser.currentToken() != JsonToken.START_OBJECT) {
+                            // e.g. "image": null, skip it instead of reading past the value
+                            parser.skipChildren();
+                            continue;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String imageField = parser.currentName();
+                            parser.nextToken();
+                            if ("url".equals(imageField)) {
+                                imageUrl = parser.getValueAsString();
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                    case "powerstats" -> {
+                        if (parser.currentToken() != JsonToken.START_OBJECT) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String stat = parser.currentName();
+                            parser.nextToken();
+                            switch (stat) {
+                                case "strength" -> strength = parser.getValueAsString();
+                                case "power" -> power = parser.getValueAsString();
+                                case "speed" -> speed = parser.getValueAsString();
+                                case "intelligence" -> intelligence = parser.getValueAsString();
+                                case "durability" -> durability = parser.getValueAsString();
+                                default -> parser.skipChildren();
+                            }
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new SuperheroApiException("Malformed payload for superhero " + id + ": " + e.getMessage());
+        }
+
+        if (!"success".equals(response)) {
+            // only successful payloads are cached, an "invalid id" answer is reported to the caller
+            if (INVALID_ID.equals(error)) {
+                throw new InvalidHeroIdException(id);
+            }
+            throw new SuperheroApiException("Error fetching superhero " + id + ": " + error);
+        }
+        long seed = HeroStats.seedFor(id, statsSalt);
+        return new HeroData(id, name, imageUrl, HeroStats.parse(seed, strength, power, speed, intelligence, durability));
+    }
+
+    public Map<String, Object> toMap(byte[] json) {
+        try {
+            return objectMapper.readValue(json, PAYLOAD_TYPE);
+        } catch (IOException e) {
+            throw new SuperheroApiException("Malformed superhero payload: " + e.getMessage());
+        }
+    }
+}
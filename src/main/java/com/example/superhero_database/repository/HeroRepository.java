@@ -0,0 +1,17 @@
+package com.example.superhero_database.repository;
+
+import com.example.superhero_database.model.Hero;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Date;
+import java.util.List;
+
+public interface HeroRepository extends JpaRepository<Hero, Integer> {
+
+    // Heroes that were last synced before the given date
+    List<Hero> findByUpdatedAtBefore(Date date);
+
+    @Query("SELECT h.id FROM Hero h")
+    List<Integer> findAllIds();
+}
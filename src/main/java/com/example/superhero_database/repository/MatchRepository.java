@@ -11,20 +11,50 @@ import java.util.Optional;
 
 public interface MatchRepository extends JpaRepository<Match, Long> {
 
+    // Find a match only if it belongs to the player
+    Optional<Match> findByIdAndPlayer(Long id, User player);
+
+    // Every query below that lists or counts a player's matches skips rows persisted by bulk
+    // simulations (engine 'bulk'): they are not games the player played
+
     // Find all matches for a specific player
+    @Query("""
+        SELECT m FROM Match m
+        WHERE m.player = ?1
+        AND (m.engine IS NULL OR m.engine <> 'bulk')
+        ORDER BY m.matchDate DESC
+    """)
     List<Match> findByPlayerOrderByMatchDateDesc(User player);
 
     // Find player's winning matches
+    @Query("""
+        SELECT m FROM Match m
+        WHERE m.player = ?1 AND m.victory = true
+        AND (m.engine IS NULL OR m.engine <> 'bulk')
+    """)
     List<Match> findByPlayerAndVictoryTrue(User player);
 
     // Find player's losing matches
+    @Query("""
+        SELECT m FROM Match m
+        WHERE m.player = ?1 AND m.victory = false
+        AND (m.engine IS NULL OR m.engine <> 'bulk')
+    """)
     List<Match> findByPlayerAndVictoryFalse(User player);
 
     // Get win/loss count
-    @Query("SELECT COUNT(m) FROM Match m WHERE m.player = ?1 AND m.victory = true")
+    @Query("""
+        SELECT COUNT(m) FROM Match m
+        WHERE m.player = ?1 AND m.victory = true
+        AND (m.engine IS NULL OR m.engine <> 'bulk')
+    """)
     long countWins(User player);
 
-    @Query("SELECT COUNT(m) FROM Match m WHERE m.player = ?1 AND m.victory = false")
+    @Query("""
+        SELECT COUNT(m) FROM Match m
+        WHERE m.player = ?1 AND m.victory = false
+        AND (m.engine IS NULL OR m.engine <> 'bulk')
+    """)
     long countLosses(User player);
 
     // Get current win streak
@@ -32,22 +62,43 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
         SELECT COUNT(m) FROM Match m 
         WHERE m.player = ?1 
         AND m.victory = true 
+        AND (m.engine IS NULL OR m.engine <> 'bulk')
         AND m.id > (
             SELECT MAX(m2.id) FROM Match m2 
             WHERE m2.player = ?1 
             AND m2.victory = false
+            AND (m2.engine IS NULL OR m2.engine <> 'bulk')
         )
     """)
     long getCurrentStreak(User player);
 
+    @Query("""
+        SELECT m FROM Match m
+        WHERE m.player.username = ?1
+        AND (m.engine IS NULL OR m.engine <> 'bulk')
+    """)
     List<Match> findByPlayer_Username(String username);
 
+    @Query("""
+        SELECT m FROM Match m
+        WHERE m.player.email = ?1
+        AND (m.engine IS NULL OR m.engine <> 'bulk')
+    """)
     List<Match> findByPlayer_Email(String email);
 
+    // Matches the player actually played, keyed by the email the dashboard passes in
+    @Query("""
+        SELECT m FROM Match m
+        WHERE m.player.email = :email
+        AND (m.engine IS NULL OR m.engine <> 'bulk')
+    """)
+    List<Match> findPlayedByPlayerEmail(@Param("email") String email);
+
     @Query("""
         SELECT ph FROM Match m 
         JOIN m.playerHeroIds ph
         WHERE m.player.username = :username 
+        AND (m.engine IS NULL OR m.engine <> 'bulk')
         GROUP BY ph
         ORDER BY COUNT(ph) DESC 
         LIMIT 1
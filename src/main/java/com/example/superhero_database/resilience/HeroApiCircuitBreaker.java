@@ -0,0 +1,187 @@
+package com.example.superhero_database.resilience;
+
+import com.example.superhero_database.exception.CircuitOpenException;
+import com.example.superhero_database.exception.InvalidHeroIdException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker around every superheroapi.com call. Hero image downloads from the
+ * third-party image host do not go through it.
+ *
+ * CLOSED:    calls pass; the outcome of the last window-size calls is tracked. Once at least
+ *            minimum-calls were made and the failure rate or the slow call rate reaches its
+ *            threshold, the breaker opens.
+ * OPEN:      calls fail fast with CircuitOpenException (callers serve stale cache data)
+ *            until open-duration has passed.
+ * HALF_OPEN: up to half-open-calls trial calls are let through. All of them succeeding
+ *            closes the breaker, any failure opens it again.
+ *
+ * An InvalidHeroIdException thrown by the call means the upstream answered correctly for
+ * an id that does not exist, so it counts as a success. Every other exception, including
+ * malformed, empty or error payloads (rate limiting, a rejected api key), is a failure. State, transitions and rejected calls are published
+ * as superhero.api.circuit.* metrics.
+ */
+@Component
+@Slf4j
+public class HeroApiCircuitBreaker implements MeterBinder {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final String NAME = "superhero-api";
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    // ring buffer of the last windowSize outcomes
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int recorded;
+    private int next;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    private volatile MeterRegistry registry;
+    private volatile Counter rejected;
+
+    public HeroApiCircuitBreaker(@Value("${superhero.circuit.window-size:20}") int windowSize,
+                                 @Value("${superhero.circuit.minimum-calls:10}") int minimumCalls,
+                                 @Value("${superhero.circuit.failure-rate-threshold:50}") double failureRateThreshold,
+                                 @Value("${superhero.circuit.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+                                 @Value("${superhero.circuit.slow-call-duration:PT2S}") Duration slowCallDuration,
+                                 @Value("${superhero.circuit.open-duration:PT30S}") Duration openDuration,
+                                 @Value("${superhero.circuit.half-open-calls:3}") int halfOpenCalls) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.failed = new boolean[windowSize];
+        this.slow = new boolean[windowSize];
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquirePermission();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            onResult(false, System.nanoTime() - start);
+            return result;
+        } catch (InvalidHeroIdException e) {
+            onResult(false, System.nanoTime() - start);
+            throw e;
+        } catch (RuntimeException e) {
+            onResult(true, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private synchronized void acquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && halfOpenPermits == 0)) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new CircuitOpenException(NAME);
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits--;
+        }
+    }
+
+    private synchronized void onResult(boolean failure, long durationNanos) {
+        boolean slowCall = durationNanos >= slowCallNanos;
+
+        if (state == State.HALF_OPEN) {
+            if (failure || slowCall) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // a call that started before the breaker opened
+            return;
+        }
+
+        if (recorded == windowSize) {
+            failures -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        slow[next] = slowCall;
+        failures += failure ? 1 : 0;
+        slowCalls += slowCall ? 1 : 0;
+        next = (next + 1) % windowSize;
+
+        if (recorded >= minimumCalls
+                && (100.0 * failures / recorded >= failureRateThreshold
+                || 100.0 * slowCalls / recorded >= slowCallRateThreshold)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State target) {
+        log.warn("Circuit breaker '{}' {} -> {}", NAME, state, target);
+        if (registry != null) {
+            registry.counter("superhero.api.circuit.transitions", "from", state.name(), "to", target.name()).increment();
+        }
+        state = target;
+
+        switch (target) {
+            case OPEN -> openedAt = System.nanoTime();
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> resetWindow();
+        }
+    }
+
+    private void resetWindow() {
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        this.rejected = Counter.builder("superhero.api.circuit.rejected")
+                .description("Calls rejected because the circuit was open")
+                .register(registry);
+        Gauge.builder("superhero.api.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half open")
+                .register(registry);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.superhero_database.search;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory name index over the hero catalog, so name searches never leave the JVM.
+ *
+ * Every hero contributes its full folded name plus each folded name token as keys.
+ * The keys are kept in one sorted array, which makes a prefix lookup two binary
+ * searches (the same answer a prefix trie gives, without the per-node objects).
+ * Folding lower-cases and strips accents, so "rogue", "Rogue" and "Rógue" match alike.
+ *
+ * The index is immutable once built; rebuild swaps in a new snapshot atomically.
+ */
+@Component
+public class HeroSearchIndex {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // match quality, lower ranks first
+    private static final int EXACT_NAME = 0;
+    private static final int NAME_PREFIX = 1;
+    private static final int EXACT_TOKEN = 2;
+    private static final int TOKEN_PREFIX = 3;
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new int[0], new boolean[0], List.of());
+
+    public boolean isEmpty() {
+        return snapshot.heroes().isEmpty();
+    }
+
+    public int size() {
+        return snapshot.heroes().size();
+    }
+
+    public void rebuild(List<Map<String, Object>> heroes) {
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < heroes.size(); i++) {
+            String folded = fold(String.valueOf(heroes.get(i).get("name")));
+            if (folded.isEmpty()) {
+                continue;
+            }
+            keys.add(new Key(folded, i, true));
+            for (String token : TOKEN_SEPARATORS.split(folded)) {
+                if (!token.isEmpty() && !token.equals(folded)) {
+                    keys.add(new Key(token, i, false));
+                }
+            }
+        }
+        keys.sort(Comparator.comparing(Key::text));
+
+        String[] texts = new String[keys.size()];
+        int[] heroIndex = new int[keys.size()];
+        boolean[] fullName = new boolean[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            texts[i] = keys.get(i).text();
+            heroIndex[i] = keys.get(i).hero();
+            fullName[i] = keys.get(i).fullName();
+        }
+        snapshot = new Snapshot(texts, heroIndex, fullName, List.copyOf(heroes));
+    }
+
+    /**
+     * Returns at most limit heroes whose name, or one of its words, starts with the query.
+     * Ranked: exact name, name prefix, exact word, word prefix; ties go to the shorter name.
+     */
+    public List<Map<String, Object>> search(String query, int limit) {
+        Snapshot current = snapshot;
+        String prefix = fold(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int from = lowerBound(current.texts(), prefix);
+        Map<Integer, Integer> bestRank = new HashMap<>();
+        for (int i = from; i < current.texts().length && current.texts()[i].startsWith(prefix); i++) {
+            boolean exact = current.texts()[i].length() == prefix.length();
+            int rank = current.fullName()[i]
+                    ? (exact ? EXACT_NAME : NAME_PREFIX)
+                    : (exact ? EXACT_TOKEN : TOKEN_PREFIX);
+            bestRank.merge(current.heroIndex()[i], rank, Math::min);
+        }
+
+        return bestRank.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Integer, Integer>>comparingInt(Map.Entry::getValue)
+                        .thenComparingInt(e -> String.valueOf(current.heroes().get(e.getKey()).get("name")).length())
+                        .thenComparing(e -> String.valueOf(current.heroes().get(e.getKey()).get("name"))))
+                .limit(limit)
+                .map(e -> current.heroes().get(e.getKey()))
+                .toList();
+    }
+
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text == null ? "" : text, Normalizer.Form.NFD);
+        return ACCENTS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static int lowerBound(String[] texts, String key) {
+        int index = Arrays.binarySearch(texts, key);
+        if (index < 0) {
+            return -index - 1;
+        }
+        // walk back to the first of several identical keys
+        while (index > 0 && texts[index - 1].equals(key)) {
+            index--;
+        }
+        return index;
+    }
+
+    private record Key(String text, int hero, boolean fullName) {}
+
+    private record Snapshot(String[] texts, int[] heroIndex, boolean[] fullName, List<Map<String, Object>> heroes) {}
+}
@@ -0,0 +1,103 @@
+package com.example.superhero_database.search;
+
+import com.example.superhero_database.catalog.HeroCatalog;
+import com.example.superhero_database.dto.HeroBatchResponse;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.service.SuperheroApiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the HeroSearchIndex right after startup and refreshes it in the background.
+ *
+ * Once the HeroCatalog holds at least as many heroes as the index, the index is built from
+ * the catalog without any upstream call; its entries then carry id, name, powerstats and
+ * image only. Until then heroes are loaded in batches through SuperheroApiService, so
+ * cached heroes cost nothing and the upstream sees at most superhero.search.batch-size
+ * concurrent requests at a time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HeroSearchIndexJob {
+
+    @Value("${superhero.search.batch-size:50}")
+    private int batchSize;
+
+    private final SuperheroApiService superheroApiService;
+    private final HeroSearchIndex heroSearchIndex;
+    private final HeroCatalog heroCatalog;
+
+    @Scheduled(initialDelayString = "${superhero.search.initial-delay:PT5S}",
+            fixedDelayString = "${superhero.search.refresh-interval:PT6H}")
+    public void refresh() {
+        // a catalog still being synced must not shrink an index built from the upstream
+        if (heroCatalog.size() > 0 && heroCatalog.size() >= heroSearchIndex.size()) {
+            List<Map<String, Object>> heroes = heroCatalog.getAll().stream()
+                    .map(HeroSearchIndexJob::toPayload)
+                    .toList();
+            heroSearchIndex.rebuild(heroes);
+            log.info("Hero search index rebuilt from the catalog with {} heroes", heroes.size());
+            return;
+        }
+        refreshFromUpstream();
+    }
+
+    private void refreshFromUpstream() {
+        List<String> ids = IntStream.rangeClosed(1, SuperheroApiService.HERO_COUNT)
+                .mapToObj(String::valueOf)
+                .toList();
+
+        List<Map<String, Object>> heroes = new ArrayList<>(ids.size());
+        int failed = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            HeroBatchResponse batch = superheroApiService.getHeroes(ids.subList(from, Math.min(from + batchSize, ids.size())));
+            batch.heroes().values().forEach(hero -> heroes.add(castHero(hero)));
+            failed += batch.errors().size();
+        }
+
+        if (heroes.isEmpty() || (failed > 0 && heroes.size() < heroSearchIndex.size())) {
+            // don't replace a good index with a partial one while the upstream is struggling
+            log.warn("Hero search index not refreshed, only {} heroes loaded ({} ids failed)", heroes.size(), failed);
+            return;
+        }
+        heroSearchIndex.rebuild(heroes);
+        log.info("Hero search index rebuilt with {} heroes ({} ids failed)", heroes.size(), failed);
+    }
+
+    /**
+     * The subset of the superheroapi.com hero payload the catalog knows, same keys and
+     * string-valued powerstats as upstream.
+     */
+    private static Map<String, Object> toPayload(HeroData hero) {
+        HeroStats stats = hero.stats();
+        Map<String, Object> powerstats = new LinkedHashMap<>();
+        powerstats.put("intelligence", String.valueOf(stats.intelligence()));
+        powerstats.put("strength", String.valueOf(stats.strength()));
+        powerstats.put("speed", String.valueOf(stats.speed()));
+        powerstats.put("durability", String.valueOf(stats.durability()));
+        powerstats.put("power", String.valueOf(stats.power()));
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", hero.id());
+        payload.put("name", hero.name());
+        payload.put("powerstats", powerstats);
+        payload.put("image", Map.of("url", hero.imageUrl() == null ? "" : hero.imageUrl()));
+        return payload;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castHero(Object hero) {
+        return (Map<String, Object>) hero;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.superhero_database.service;
+
+import com.example.superhero_database.model.User;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface BattleReplayService {
+    SseEmitter replay(User player, Long matchId, double speed);
+}
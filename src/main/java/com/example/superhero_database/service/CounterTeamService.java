@@ -0,0 +1,9 @@
+package com.example.superhero_database.service;
+
+import com.example.superhero_database.dto.battle.CounterTeam;
+
+import java.util.List;
+
+public interface CounterTeamService {
+    List<CounterTeam> findCounters(List<Integer> opponent, int limit);
+}
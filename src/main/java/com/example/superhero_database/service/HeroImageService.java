@@ -0,0 +1,7 @@
+package com.example.superhero_database.service;
+
+import com.example.superhero_database.dto.CachedImage;
+
+public interface HeroImageService {
+    CachedImage getImage(String heroId);
+}
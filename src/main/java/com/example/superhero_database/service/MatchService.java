@@ -1,5 +1,12 @@
 package com.example.superhero_database.service;
 
+import com.example.superhero_database.battle.BattleEventListener;
+import com.example.superhero_database.battle.Difficulty;
+import com.example.superhero_database.dto.battle.BattleResponse;
+import com.example.superhero_database.dto.battle.BattleResult;
+import com.example.superhero_database.dto.battle.BattleStart;
+import com.example.superhero_database.dto.battle.BulkBattleRequest;
+import com.example.superhero_database.dto.battle.BulkBattleResponse;
 import com.example.superhero_database.dto.battle.HeroData;
 import com.example.superhero_database.model.Match;
 import com.example.superhero_database.model.User;
@@ -9,9 +16,11 @@ import java.util.Map;
 import java.util.Optional;
 
 public interface MatchService {
-    Map<String, Object> generateBattle(List<String> playerTeamIds);
-    Map<String, Object> simulateBattle(List<HeroData> playerTeam, List<HeroData> aiTeam);
-    Match createMatch(User player, List<HeroData> playerTeam, List<HeroData> aiTeam, boolean victory);
+    BattleStart generateBattle(User player, List<String> playerTeamIds, Difficulty difficulty);
+    BattleResult simulateBattle(List<HeroData> playerTeam, List<HeroData> aiTeam, String engine, long seed, BattleEventListener listener);
+    BattleResponse playBattle(User player, String battleId, String engine);
+    BulkBattleResponse simulateBulk(User player, BulkBattleRequest request);
+    Match createMatch(User player, List<HeroData> playerTeam, List<HeroData> aiTeam, BattleResult result, String engine, long seed);
     List<HeroData> fetchFullHeroData(List<String> heroIds);
     List<Match> findByPlayer_Username(String username);
     Optional<String> findMostUsedHeroByUsername(String username);
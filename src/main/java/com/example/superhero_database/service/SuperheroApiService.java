@@ -0,0 +1,27 @@
+package com.example.superhero_database.service;
+
+import com.example.superhero_database.dto.HeroBatchResponse;
+import com.example.superhero_database.dto.battle.HeroData;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface SuperheroApiService {
+    // SuperheroAPI has 731 heroes total
+    int HERO_COUNT = 731;
+
+    Map<String, Object> getHero(String id);
+    HeroBatchResponse getHeroes(List<String> ids);
+    Map<String, HeroData> findHeroData(List<String> ids);
+    HeroData getHeroData(String id);
+    HeroData getHeroData(String id, Duration timeout);
+    List<HeroData> resolveHeroes(List<String> ids);
+    List<String> getCachedHeroIds();
+    Optional<HeroData> getCachedHeroData(String id);
+    Map<String, Object> getPowerStats(String id);
+    Map<String, Object> getImage(String id);
+    Object searchHeroes(String name, int limit);
+    List<Map<String, Object>> getRandomHeroes(int count);
+}
@@ -0,0 +1,12 @@
+package com.example.superhero_database.service;
+
+import com.example.superhero_database.dto.battle.TournamentRequest;
+import com.example.superhero_database.dto.battle.TournamentStatus;
+
+import java.util.Optional;
+
+public interface TournamentService {
+    TournamentStatus startTournament(TournamentRequest request);
+    Optional<TournamentStatus> getTournament(String id, int limit);
+    Optional<TournamentStatus> cancelTournament(String id);
+}
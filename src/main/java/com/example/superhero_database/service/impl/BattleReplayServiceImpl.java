@@ -0,0 +1,146 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.battle.BattleEventListener;
+import com.example.superhero_database.battle.BulkBattleSimulator;
+import com.example.superhero_database.battle.ClassicBattleEngine;
+import com.example.superhero_database.dto.battle.BattleEvent;
+import com.example.superhero_database.dto.battle.BattleResult;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.exception.BattleNotFoundException;
+import com.example.superhero_database.model.Match;
+import com.example.superhero_database.model.User;
+import com.example.superhero_database.repository.MatchRepository;
+import com.example.superhero_database.service.BattleReplayService;
+import com.example.superhero_database.service.MatchService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams the timeline of a stored match as Server-Sent Events.
+ *
+ * Nothing but the match row is stored: the timeline is regenerated on demand by running the
+ * match's engine again with the seed it was decided with (see BattleEngine). The events
+ * are then paced in battle time (scaled by speed, 0 = as fast as possible) by a small
+ * shared scheduler: each send schedules the next one, so a viewer holds no thread while
+ * waiting and the Tomcat request thread is released as soon as the emitter is returned.
+ * The end event always carries the stored result, even if hero stats changed since.
+ */
+@Service
+@Slf4j
+public class BattleReplayServiceImpl implements BattleReplayService {
+
+    private final MatchRepository matchRepository;
+    private final MatchService matchService;
+    private final long emitterTimeoutMillis;
+    private final long maxEventGapMillis;
+    private final ScheduledExecutorService scheduler;
+
+    public BattleReplayServiceImpl(MatchRepository matchRepository,
+                                   MatchService matchService,
+                                   @Value("${superhero.replay.timeout:PT10M}") Duration timeout,
+                                   @Value("${superhero.replay.max-event-gap:PT2S}") Duration maxEventGap,
+                                   @Value("${superhero.replay.threads:2}") int threads) {
+        this.matchRepository = matchRepository;
+        this.matchService = matchService;
+        this.emitterTimeoutMillis = timeout.toMillis();
+        this.maxEventGapMillis = maxEventGap.toMillis();
+
+        AtomicInteger counter = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "battle-replay-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter replay(User player, Long matchId, double speed) {
+        Match match = matchRepository.findByIdAndPlayer(matchId, player)
+                .orElseThrow(() -> new BattleNotFoundException(String.valueOf(matchId)));
+
+        List<BattleEvent> timeline = timeline(match);
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        scheduler.execute(() -> send(emitter, timeline, 0, speed));
+        return emitter;
+    }
+
+    /**
+     * Start, every attack and knockout of the regenerated battle, then the end event with
+     * the stored result.
+     */
+    List<BattleEvent> timeline(Match match) {
+        List<HeroData> playerTeam = matchService.fetchFullHeroData(match.getPlayerHeroIds());
+        List<HeroData> opponentTeam = matchService.fetchFullHeroData(match.getOpponentHeroIds());
+
+        List<BattleEvent> timeline = new ArrayList<>();
+        timeline.add(BattleEvent.start());
+        BattleResult result = matchService.simulateBattle(
+                playerTeam,
+                opponentTeam,
+                BulkBattleSimulator.ENGINE.equals(match.getEngine()) ? ClassicBattleEngine.NAME : match.getEngine(),
+                match.getSeed() == null ? 0L : match.getSeed(),
+                new BattleEventListener() {
+                    @Override
+                    public void onAttack(double time, int attacker, int target, int damage, int remainingHp) {
+                        timeline.add(BattleEvent.attack(time, attacker, target, damage, remainingHp));
+                    }
+
+                    @Override
+                    public void onKnockout(double time, int hero) {
+                        timeline.add(BattleEvent.knockout(time, hero));
+                    }
+                });
+        if (result.victory() != match.isVictory()) {
+            log.debug("Replay of match {} differs from the stored outcome, hero stats changed since", match.getId());
+        }
+        // the recorded result is what the player saw and what the stats count, the replay only illustrates it
+        timeline.add(BattleEvent.end(timeline.get(timeline.size() - 1).time(), match.isVictory()));
+        return timeline;
+    }
+
+    /**
+     * Sends every event that is due and schedules itself for the next one.
+     */
+    private void send(SseEmitter emitter, List<BattleEvent> timeline, int from, double speed) {
+        int index = from;
+        try {
+            while (index < timeline.size()) {
+                BattleEvent event = timeline.get(index);
+                emitter.send(SseEmitter.event().name(event.type()).data(event));
+                index++;
+
+                if (index < timeline.size() && speed > 0) {
+                    long gap = (long) ((timeline.get(index).time() - event.time()) * 1000 / speed);
+                    if (gap > 0) {
+                        int next = index;
+                        scheduler.schedule(() -> send(emitter, timeline, next, speed),
+                                Math.min(gap, maxEventGapMillis), TimeUnit.MILLISECONDS);
+                        return;
+                    }
+                }
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // the viewer went away or the emitter timed out
+            log.debug("Replay stream ended early: {}", e.getMessage());
+        }
+    }
+}
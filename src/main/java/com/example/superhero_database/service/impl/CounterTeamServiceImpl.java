@@ -0,0 +1,209 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.battle.HeroStatsResolver;
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.battle.TeamStatsCache;
+import com.example.superhero_database.dto.battle.CounterTeam;
+import com.example.superhero_database.dto.battle.TeamStats;
+import com.example.superhero_database.exception.SuperheroApiException;
+import com.example.superhero_database.service.CounterTeamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the 2-hero teams that beat an opponent by the widest survival time margin.
+ *
+ * All known heroes are copied once into primitive offense/speed/defense arrays. Each pair
+ * row (first hero i, second hero j > i) is searched in parallel; a row is skipped when even
+ * the best possible partner (maximum defense, offense and speed of all heroes) could not
+ * beat the worst of the current top results (branch and bound on those upper bounds).
+ * The bar is shared between rows through a DoubleAccumulator.
+ *
+ * Results are cached per canonical opponent team for the largest supported limit and
+ * dropped whenever heroes are added to the HeroStatsStore or their stats change.
+ */
+@Service
+@Slf4j
+public class CounterTeamServiceImpl implements CounterTeamService {
+
+    private static final Comparator<Candidate> BY_MARGIN = Comparator.comparingDouble(Candidate::margin);
+
+    private final HeroStatsStore heroStatsStore;
+    private final HeroStatsResolver heroStatsResolver;
+    private final MeterRegistry meterRegistry;
+    private final int maxLimit;
+    private final int cacheSize;
+
+    // access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, List<CounterTeam>> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedVersion = -1;
+    private int cachedCount = -1;
+
+    public CounterTeamServiceImpl(HeroStatsStore heroStatsStore,
+                                  HeroStatsResolver heroStatsResolver,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${superhero.counter.max-limit:50}") int maxLimit,
+                                  @Value("${superhero.counter.cache-size:1000}") int cacheSize) {
+        this.heroStatsStore = heroStatsStore;
+        this.heroStatsResolver = heroStatsResolver;
+        this.meterRegistry = meterRegistry;
+        this.maxLimit = maxLimit;
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public List<CounterTeam> findCounters(List<Integer> opponent, int limit) {
+        if (opponent == null || opponent.isEmpty()) {
+            throw new SuperheroApiException("opponent must contain at least one hero id");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new SuperheroApiException("limit must be between 1 and " + maxLimit);
+        }
+
+        int[] opponentTeam = opponent.stream().mapToInt(Integer::intValue).toArray();
+        heroStatsResolver.ensureLoaded(opponentTeam);
+
+        long key = TeamStatsCache.key(opponentTeam);
+        List<CounterTeam> counters = key < 0 ? null : cached(key);
+        meterRegistry.counter("superhero.counter.cache.requests", "result", counters != null ? "hit" : "miss").increment();
+        if (counters == null) {
+            long version = heroStatsStore.getVersion();
+            int count = heroStatsStore.getKnownCount();
+            counters = search(heroStatsStore.teamStats(opponentTeam), maxLimit);
+            if (key >= 0) {
+                store(key, counters, version, count);
+            }
+        }
+        return counters.subList(0, Math.min(limit, counters.size()));
+    }
+
+    private List<CounterTeam> search(TeamStats opponent, int limit) {
+        if (opponent.damagePerSecond() <= 0) {
+            throw new SuperheroApiException("The opponent team deals no damage, every team survives it");
+        }
+
+        int capacity = heroStatsStore.getCapacity();
+        int[] ids = IntStream.range(1, capacity).filter(heroStatsStore::contains).toArray();
+        int n = ids.length;
+        int[] stats = new int[n * 5];
+        heroStatsStore.copyStats(ids, stats, 0);
+
+        int[] offense = new int[n];
+        int[] speed = new int[n];
+        int[] defense = new int[n];
+        int maxOffense = 0;
+        int maxSpeed = 0;
+        int maxDefense = 0;
+        for (int i = 0; i < n; i++) {
+            int s = i * 5;
+            offense[i] = stats[s] + stats[s + 1];
+            speed[i] = stats[s + 2];
+            defense[i] = stats[s + 3] + stats[s + 4];
+            maxOffense = Math.max(maxOffense, offense[i]);
+            maxSpeed = Math.max(maxSpeed, speed[i]);
+            maxDefense = Math.max(maxDefense, defense[i]);
+        }
+
+        double opponentDps = opponent.damagePerSecond();
+        double opponentDefense = opponent.defense();
+        int bestOffense = maxOffense;
+        int bestSpeed = maxSpeed;
+        int bestDefense = maxDefense;
+        DoubleAccumulator bar = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+
+        List<Candidate> best = IntStream.range(0, n).parallel()
+                .mapToObj(i -> {
+                    double bound = margin(defense[i] + bestDefense, offense[i] + bestOffense, speed[i] + bestSpeed,
+                            opponentDps, opponentDefense);
+                    if (bound < bar.get()) {
+                        return List.<Candidate>of();
+                    }
+
+                    PriorityQueue<Candidate> row = new PriorityQueue<>(limit + 1, BY_MARGIN);
+                    for (int j = i + 1; j < n; j++) {
+                        double margin = margin(defense[i] + defense[j], offense[i] + offense[j], speed[i] + speed[j],
+                                opponentDps, opponentDefense);
+                        if (margin < bar.get() || (row.size() == limit && margin <= row.peek().margin())) {
+                            continue;
+                        }
+                        row.add(new Candidate(ids[i], ids[j], margin));
+                        if (row.size() > limit) {
+                            row.poll();
+                        }
+                    }
+                    if (row.size() == limit) {
+                        bar.accumulate(row.peek().margin());
+                    }
+                    return new ArrayList<>(row);
+                })
+                .flatMap(List::stream)
+                .sorted(BY_MARGIN.reversed())
+                .limit(limit)
+                .toList();
+
+        List<CounterTeam> counters = new ArrayList<>(best.size());
+        for (Candidate candidate : best) {
+            TeamStats team = heroStatsStore.teamStats(new int[]{candidate.heroA(), candidate.heroB()});
+            counters.add(new CounterTeam(
+                    List.of(String.valueOf(candidate.heroA()), String.valueOf(candidate.heroB())),
+                    team.survivalTime(opponent),
+                    opponent.survivalTime(team),
+                    candidate.margin()
+            ));
+        }
+        return counters;
+    }
+
+    /**
+     * Same model as TeamStats.survivalTime for a 2-hero team (average speed = speed sum / 2).
+     */
+    private static double margin(int defense, int offense, int speedSum, double opponentDps, double opponentDefense) {
+        double dps = offense * (speedSum / 2.0) / 100;
+        double opponentSurvival = dps <= 0 ? Double.POSITIVE_INFINITY : opponentDefense / dps;
+        return defense / opponentDps - opponentSurvival;
+    }
+
+    private List<CounterTeam> cached(long key) {
+        synchronized (cache) {
+            if (heroStatsStore.getVersion() != cachedVersion || heroStatsStore.getKnownCount() != cachedCount) {
+                cache.clear();
+                return null;
+            }
+            return cache.get(key);
+        }
+    }
+
+    private void store(long key, List<CounterTeam> counters, long version, int count) {
+        synchronized (cache) {
+            if (heroStatsStore.getVersion() != version || heroStatsStore.getKnownCount() != count) {
+                // heroes changed while searching, the result may mix old and new stats
+                return;
+            }
+            if (cachedVersion != version || cachedCount != count) {
+                cache.clear();
+                cachedVersion = version;
+                cachedCount = count;
+            }
+            cache.put(key, counters);
+            if (cache.size() > cacheSize) {
+                Iterator<Map.Entry<Long, List<CounterTeam>>> eldest = cache.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    private record Candidate(int heroA, int heroB, double margin) {}
+}
@@ -0,0 +1,178 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.dto.CachedImage;
+import com.example.superhero_database.exception.SuperheroApiException;
+import com.example.superhero_database.service.HeroImageService;
+import com.example.superhero_database.service.SuperheroApiService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Keeps hero images on local disk so repeat loads never leave our network.
+ *
+ * Layout below superhero.image-cache.dir:
+ * - blobs/ab/abcdef...  image bytes, named by the SHA-256 of their content
+ * - refs/{heroId}       two lines: the blob hash and the content type
+ *
+ * Identical images shared by several heroes are stored once. The refs survive a
+ * restart, so a warm cache stays warm across deploys.
+ *
+ * A missing image is loaded single-flight, outside of any map lock: concurrent requests
+ * for the same hero wait on the first caller's future. The image bytes come from a
+ * third-party host, so that download stays outside the HeroApiCircuitBreaker: hotlink
+ * blocks or outages there must not open the breaker for hero lookups. Only the url
+ * lookup goes through superheroapi.com (and its breaker).
+ */
+@Service
+@Slf4j
+public class HeroImageServiceImpl implements HeroImageService {
+
+    private static final String DEFAULT_CONTENT_TYPE = "image/jpeg";
+
+    private final SuperheroApiService superheroApiService;
+    private final RestTemplate restTemplate;
+    private final Path blobDir;
+    private final Path refDir;
+
+    private final Map<String, CachedImage> images = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedImage>> inFlight = new ConcurrentHashMap<>();
+
+    public HeroImageServiceImpl(SuperheroApiService superheroApiService,
+                                RestTemplate restTemplate,
+                                @Value("${superhero.image-cache.dir:./data/image-cache}") Path cacheDir) throws IOException {
+        this.superheroApiService = superheroApiService;
+        this.restTemplate = restTemplate;
+        this.blobDir = Files.createDirectories(cacheDir.resolve("blobs"));
+        this.refDir = Files.createDirectories(cacheDir.resolve("refs"));
+    }
+
+    @Override
+    public CachedImage getImage(String heroId) {
+        if (!heroId.matches("\\d+")) {
+            throw new SuperheroApiException("Invalid hero id: " + heroId);
+        }
+        CachedImage cached = images.get(heroId);
+        return cached != null ? cached : loadImage(heroId);
+    }
+
+    private CachedImage loadImage(String heroId) {
+        CompletableFuture<CachedImage> flight = new CompletableFuture<>();
+        CompletableFuture<CachedImage> existing = inFlight.putIfAbsent(heroId, flight);
+        if (existing != null) {
+            return awaitFlight(heroId, existing);
+        }
+
+        try {
+            // another flight may have finished between the cache miss and putIfAbsent
+            CachedImage image = images.get(heroId);
+            if (image == null) {
+                image = readRef(heroId).orElseGet(() -> download(heroId));
+                images.put(heroId, image);
+            }
+            flight.complete(image);
+            return image;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(heroId, flight);
+        }
+    }
+
+    private CachedImage awaitFlight(String heroId, CompletableFuture<CachedImage> flight) {
+        try {
+            return flight.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SuperheroApiException("Error loading image of superhero " + heroId + ": " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SuperheroApiException("Interrupted while loading image of superhero " + heroId);
+        }
+    }
+
+    private Optional<CachedImage> readRef(String heroId) {
+        Path ref = refDir.resolve(heroId);
+        if (!Files.exists(ref)) {
+            return Optional.empty();
+        }
+        try {
+            List<String> lines = Files.readAllLines(ref, StandardCharsets.UTF_8);
+            Path blob = blobPath(lines.get(0));
+            if (!Files.exists(blob)) {
+                return Optional.empty();
+            }
+            return Optional.of(new CachedImage(blob, lines.get(0), lines.get(1), Files.size(blob)));
+        } catch (IOException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring broken image cache ref for hero {}: {}", heroId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private CachedImage download(String heroId) {
+        String imageUrl = String.valueOf(superheroApiService.getImage(heroId).get("url"));
+        byte[] bytes = restTemplate.getForObject(imageUrl, byte[].class);
+        if (bytes == null || bytes.length == 0) {
+            throw new SuperheroApiException("Empty image for superhero " + heroId);
+        }
+
+        String hash = sha256(bytes);
+        String contentType = Optional.ofNullable(URLConnection.guessContentTypeFromName(imageUrl))
+                .orElse(DEFAULT_CONTENT_TYPE);
+
+        try {
+            Path blob = blobPath(hash);
+            if (!Files.exists(blob)) {
+                Files.createDirectories(blob.getParent());
+                writeAtomically(blob, bytes);
+            }
+            writeAtomically(refDir.resolve(heroId), (hash + "\n" + contentType + "\n").getBytes(StandardCharsets.UTF_8));
+            return new CachedImage(blob, hash, contentType, bytes.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image of superhero " + heroId, e);
+        }
+    }
+
+    private Path blobPath(String hash) {
+        return blobDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.model.Match;
+import com.example.superhero_database.repository.MatchRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Bulk path for match rows (imports, bulk simulations): one transaction, saved in chunks
+ * that are flushed as JDBC batches and then detached, so the persistence context does not
+ * grow with the number of matches.
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchBatchWriter {
+
+    @Value("${superhero.persistence.chunk-size:1000}")
+    private int chunkSize;
+
+    private final MatchRepository matchRepository;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public int saveAll(List<Match> matches) {
+        for (int from = 0; from < matches.size(); from += chunkSize) {
+            matchRepository.saveAll(matches.subList(from, Math.min(from + chunkSize, matches.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return matches.size();
+    }
+}
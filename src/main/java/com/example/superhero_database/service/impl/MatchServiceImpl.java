@@ -1,100 +1,251 @@
 package com.example.superhero_database.service.impl;
 
+import com.example.superhero_database.battle.BattleEngines;
+import com.example.superhero_database.battle.BattleEventListener;
+import com.example.superhero_database.battle.BattleSession;
+import com.example.superhero_database.battle.BattleSessionStore;
+import com.example.superhero_database.battle.BulkBattleSimulator;
+import com.example.superhero_database.battle.Difficulty;
+import com.example.superhero_database.battle.HeroPowerIndex;
+import com.example.superhero_database.battle.HeroStatsResolver;
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.battle.OutcomeMatrix;
+import com.example.superhero_database.dto.battle.BattleResponse;
 import com.example.superhero_database.dto.battle.BattleResult;
+import com.example.superhero_database.dto.battle.BattleStart;
+import com.example.superhero_database.dto.battle.BulkBattleRequest;
+import com.example.superhero_database.dto.battle.BulkBattleResponse;
 import com.example.superhero_database.dto.battle.HeroData;
-import com.example.superhero_database.dto.battle.HeroStats;
-import com.example.superhero_database.dto.battle.TeamStats;
+import com.example.superhero_database.exception.BattleNotFoundException;
+import com.example.superhero_database.exception.InvalidHeroIdException;
+import com.example.superhero_database.exception.SuperheroApiException;
 import com.example.superhero_database.model.Match;
 import com.example.superhero_database.model.User;
 import com.example.superhero_database.repository.MatchRepository;
 import com.example.superhero_database.service.MatchService;
 import com.example.superhero_database.service.PlayerStatsService;
+import com.example.superhero_database.service.SuperheroApiService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class MatchServiceImpl implements MatchService {
-    @Value("${superhero.api.key}")
-    private String apiKey;
 
-    private final PlayerStatsService playerStatsService;
-    private final MatchRepository matchRepository;
-    private final RestTemplate restTemplate;
+    @Value("${superhero.ai-team.max-attempts:10}")
+    private int aiTeamMaxAttempts;
+
+    @Value("${superhero.ai-team.timeout:PT3S}")
+    private Duration aiTeamTimeout;
+
+    @Value("${superhero.ai-team.candidates:4}")
+    private int aiTeamCandidates;
 
+    @Value("${superhero.bulk.max-matchups:100000}")
+    private int bulkMaxMatchups;
 
+    @Value("${superhero.bulk.max-team-size:5}")
+    private int bulkMaxTeamSize;
+
+    private final PlayerStatsService playerStatsService;
+    private final MatchRepository matchRepository;
+    private final MatchBatchWriter matchBatchWriter;
+    private final SuperheroApiService superheroApiService;
+    private final MeterRegistry meterRegistry;
+    private final HeroStatsStore heroStatsStore;
+    private final HeroStatsResolver heroStatsResolver;
+    private final BattleEngines battleEngines;
+    private final BulkBattleSimulator bulkBattleSimulator;
+    private final BattleSessionStore battleSessionStore;
+    private final HeroPowerIndex heroPowerIndex;
+    private final OutcomeMatrix outcomeMatrix;
+
+    // ids the upstream answered with "invalid id", never drawn for an AI team again
+    private final Set<String> invalidHeroIds = ConcurrentHashMap.newKeySet();
+
+
+    /**
+     * Resolves the player's team, picks an AI team of matching strength and keeps both in a
+     * battle session, so /simulate neither fetches the heroes again nor trusts client-sent teams.
+     */
     @Override
-    public Map<String, Object> generateBattle(List<String> playerTeamIds) {
+    public BattleStart generateBattle(User player, List<String> playerTeamIds, Difficulty difficulty) {
         List<HeroData> playerTeam = fetchFullHeroData(playerTeamIds);
-        List<HeroData> aiTeam = generateRandomTeam(2);
+        List<HeroData> aiTeam = matchAiTeam(playerTeam, difficulty);
 
-        return Map.of(
-                "playerTeam", playerTeam,
-                "aiTeam", aiTeam
-        );
+        BattleSession session = battleSessionStore.create(player.getId(), playerTeam, aiTeam);
+        return new BattleStart(session.id(), playerTeam, aiTeam);
     }
 
-    @Override
-    public Map<String, Object> simulateBattle(List<HeroData> playerTeam, List<HeroData> aiTeam) {
-        TeamStats playerTeamStats = calculateTeamStats(playerTeam);
-        TeamStats aiTeamStats = calculateTeamStats(aiTeam);
+    /**
+     * AI team from the power index, within a band around the player's team power scaled by
+     * the difficulty. Falls back to random upstream heroes while the index is still empty.
+     */
+    private List<HeroData> matchAiTeam(List<HeroData> playerTeam, Difficulty difficulty) {
+        int targetPower = (int) Math.round(HeroPowerIndex.power(playerTeam) * difficulty.getFactor());
+        Set<String> playerIds = playerTeam.stream().map(HeroData::id).collect(Collectors.toSet());
+
+        Optional<List<HeroData>> matched = heroPowerIndex.pickTeam(2, targetPower, playerIds);
+        meterRegistry.counter("superhero.battle.ai_team.matchmaking",
+                "result", matched.isPresent() ? "indexed" : "random").increment();
+        if (matched.isPresent() && outcomeMatrix.isAvailable()) {
+            return closestOutcome(matched.get(), playerTeam, targetPower, playerIds, difficulty);
+        }
+        return matched.orElseGet(() -> generateRandomTeam(2));
+    }
 
-        double team1Survival = playerTeamStats.survivalTime(aiTeamStats);
-        double team2Survival = aiTeamStats.survivalTime(playerTeamStats);
+    /**
+     * Power only approximates the battle model. With the outcome matrix mapped, a few teams
+     * are drawn from the power band and the one whose survival ratio against the player's
+     * team is closest to the difficulty factor is kept.
+     */
+    private List<HeroData> closestOutcome(List<HeroData> first, List<HeroData> playerTeam, int targetPower,
+                                          Set<String> playerIds, Difficulty difficulty) {
+        int[] player = heroIds(playerTeam);
+        List<HeroData> best = first;
+        double bestDistance = outcomeDistance(first, player, difficulty);
+        for (int i = 1; i < aiTeamCandidates; i++) {
+            Optional<List<HeroData>> candidate = heroPowerIndex.pickTeam(2, targetPower, playerIds);
+            if (candidate.isEmpty()) {
+                break;
+            }
+            double distance = outcomeDistance(candidate.get(), player, difficulty);
+            if (distance < bestDistance) {
+                best = candidate.get();
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
 
-        // Create the structure the frontend expects
-        Map<String, Object> battleResult = new HashMap<>();
-        battleResult.put("matchId", UUID.randomUUID().toString());
+    private double outcomeDistance(List<HeroData> aiTeam, int[] playerTeam, Difficulty difficulty) {
+        float ratio = outcomeMatrix.survivalRatio(heroIds(aiTeam), playerTeam);
+        // NaN (hero not in the matrix yet) and 0 or infinite ratios never beat a measured team
+        double distance = Math.abs(Math.log(ratio / difficulty.getFactor()));
+        return Double.isNaN(distance) ? Double.POSITIVE_INFINITY : distance;
+    }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("victory", team1Survival > team2Survival);
-        result.put("team1SurvivalTime", team1Survival);
-        result.put("team2SurvivalTime", team2Survival);
-        battleResult.put("result", result);
+    private static int[] heroIds(List<HeroData> team) {
+        return team.stream().mapToInt(hero -> Integer.parseInt(hero.id())).toArray();
+    }
 
-        Map<String, Object> teamStats = new HashMap<>();
+    @Override
+    public BattleResult simulateBattle(List<HeroData> playerTeam, List<HeroData> aiTeam, String engine,
+                                       long seed, BattleEventListener listener) {
+        return battleEngines.get(engine).fight(
+                heroStatsStore.register(playerTeam), heroStatsStore.register(aiTeam), seed, listener);
+    }
 
-        // Player team stats
-        Map<String, Object> playerStats = new HashMap<>();
-        playerStats.put("offensiveScore", playerTeamStats.damagePerSecond());
-        playerStats.put("defensiveScore", playerTeamStats.defense());
+    /**
+     * Runs the started battle once and records it; the stats computed for the battle are
+     * the ones persisted and returned. A battle can only be simulated once.
+     */
+    @Override
+    public BattleResponse playBattle(User player, String battleId, String engine) {
+        String engineName = battleEngines.get(engine).getName();
+        BattleSession session = battleSessionStore.take(battleId, player.getId())
+                .orElseThrow(() -> new BattleNotFoundException(battleId));
+
+        long seed = ThreadLocalRandom.current().nextLong();
+        BattleResult result = simulateBattle(session.playerTeam(), session.aiTeam(), engineName, seed, BattleEventListener.NONE);
+        Match match = createMatch(player, session.playerTeam(), session.aiTeam(), result, engineName, seed);
+        return BattleResponse.of(String.valueOf(match.getId()), result);
+    }
 
-        // AI team stats
-        Map<String, Object> aiStats = new HashMap<>();
-        aiStats.put("offensiveScore", aiTeamStats.damagePerSecond());
-        aiStats.put("defensiveScore", aiTeamStats.defense());
+    /**
+     * Runs many matchups against the primitive stats store (see BulkBattleSimulator).
+     * Heroes the store does not know yet are resolved once up front. Match rows are only
+     * written when the request asks for it, marked with the bulk engine; bulk runs never
+     * touch the player's win/loss stats and are not counted on the dashboard.
+     */
+    @Override
+    public BulkBattleResponse simulateBulk(User player, BulkBattleRequest request) {
+        int teamSize = request.teamSize();
+        int[] heroes = request.heroes();
+        if (teamSize <= 0 || teamSize > bulkMaxTeamSize) {
+            throw new SuperheroApiException("teamSize must be between 1 and " + bulkMaxTeamSize);
+        }
+        long matchupSize = 2L * teamSize;
+        if (heroes == null || heroes.length == 0 || heroes.length % matchupSize != 0) {
+            throw new SuperheroApiException("heroes must contain 2 * teamSize hero ids per matchup");
+        }
+        long matchups = heroes.length / matchupSize;
+        if (matchups > bulkMaxMatchups) {
+            throw new SuperheroApiException("Too many matchups: " + matchups + ", maximum is " + bulkMaxMatchups);
+        }
 
-        teamStats.put("player", playerStats);
-        teamStats.put("ai", aiStats);
-        battleResult.put("teamStats", teamStats);
+        heroStatsResolver.ensureLoaded(heroes);
+
+        boolean survivalTimes = request.includeSurvivalTimes() || request.persist();
+        byte[] outcomes = new byte[(int) matchups];
+        float[] team1Survival = survivalTimes ? new float[(int) matchups] : null;
+        float[] team2Survival = survivalTimes ? new float[(int) matchups] : null;
+        int team1Wins = bulkBattleSimulator.simulate(heroes, teamSize, outcomes, team1Survival, team2Survival);
+
+        if (request.persist()) {
+            persistBulk(player, heroes, teamSize, outcomes, team1Survival, team2Survival);
+        }
 
-        return battleResult;
+        return request.includeSurvivalTimes()
+                ? new BulkBattleResponse(outcomes.length, team1Wins, outcomes, team1Survival, team2Survival)
+                : new BulkBattleResponse(outcomes.length, team1Wins, outcomes, null, null);
     }
 
+    private void persistBulk(User player, int[] heroes, int teamSize, byte[] outcomes,
+                             float[] team1Survival, float[] team2Survival) {
+        Date now = new Date();
+        List<Match> matches = new ArrayList<>(outcomes.length);
+        for (int m = 0; m < outcomes.length; m++) {
+            int offset = m * teamSize * 2;
+            Match match = new Match();
+            match.setPlayer(player);
+            match.setPlayerHeroIds(heroIds(heroes, offset, teamSize));
+            match.setOpponentHeroIds(heroIds(heroes, offset + teamSize, teamSize));
+            match.setVictory(outcomes[m] == 1);
+            match.setMatchDate(now);
+            match.setSurvivalTimePlayer((double) team1Survival[m]);
+            match.setSurvivalTimeOpponent((double) team2Survival[m]);
+            match.setEngine(BulkBattleSimulator.ENGINE);
+            matches.add(match);
+        }
+        matchBatchWriter.saveAll(matches);
+    }
+
+    private static List<String> heroIds(int[] heroes, int offset, int length) {
+        List<String> ids = new ArrayList<>(length);
+        for (int i = offset; i < offset + length; i++) {
+            ids.add(String.valueOf(heroes[i]));
+        }
+        return ids;
+    }
 
     @Override
-    public Match createMatch(User player, List<HeroData> playerTeam, List<HeroData> aiTeam, boolean victory) {
+    public Match createMatch(User player, List<HeroData> playerTeam, List<HeroData> aiTeam, BattleResult result,
+                             String engine, long seed) {
         Match match = new Match();
         match.setPlayer(player);
         match.setPlayerHeroIds(playerTeam.stream().map(HeroData::id).collect(Collectors.toList()));
         match.setOpponentHeroIds(aiTeam.stream().map(HeroData::id).collect(Collectors.toList()));
-        match.setVictory(victory);
+        match.setVictory(result.victory());
         match.setMatchDate(new Date());
-
-        // Add survival times
-        TeamStats playerStats = calculateTeamStats(playerTeam);
-        TeamStats aiStats = calculateTeamStats(aiTeam);
-        match.setSurvivalTimePlayer(playerStats.survivalTime(aiStats));
-        match.setSurvivalTimeOpponent(aiStats.survivalTime(playerStats));
+        match.setSurvivalTimePlayer(result.team1SurvivalTime());
+        match.setSurvivalTimeOpponent(result.team2SurvivalTime());
+        match.setEngine(engine);
+        match.setSeed(seed);
 
         // Update Player Stats
-        playerStatsService.updateStats(player, victory);
+        playerStatsService.updateStats(player, result.victory());
 
         return matchRepository.save(match);
     }
@@ -102,25 +253,13 @@ public class MatchServiceImpl implements MatchService {
 
     @Override
     public List<HeroData> fetchFullHeroData(List<String> heroIds) {
-        return heroIds.stream()
-                .map(id -> {
-                    String url = String.format("https://superheroapi.com/api/%s/%s", apiKey, id);
-                    Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-                    Map<String, String> image = (Map<String, String>) response.get("image");
-                    return new HeroData(
-                            id,
-                            (String) response.get("name"),
-                            image.get("url"),
-                            HeroStats.fromApi((Map<String, String>)response.get("powerstats"))
-                    );
-                })
-                .collect(Collectors.toList());
+        return superheroApiService.resolveHeroes(heroIds);
     }
 
     @Override
     public List<Match> findByPlayer_Username(String username) {
         System.out.println("MatchService.findByPlayer_Username: " + username);
-        return matchRepository.findByPlayer_Email(username);
+        return matchRepository.findPlayedByPlayerEmail(username);
     }
 
     @Override
@@ -129,63 +268,63 @@ public class MatchServiceImpl implements MatchService {
     }
 
 
-    private BattleResult calculateBattle(List<HeroData> team1, List<HeroData> team2) {
-        TeamStats team1Stats = calculateTeamStats(team1);
-        TeamStats team2Stats = calculateTeamStats(team2);
-
-        double team1Survival = team1Stats.survivalTime(team2Stats);
-        double team2Survival = team2Stats.survivalTime(team1Stats);
-
-        return new BattleResult(
-                team1Survival > team2Survival,
-                team1Survival,
-                team2Survival
-        );
-    }
-
-    private TeamStats calculateTeamStats(List<HeroData> team) {
-        double totalOffense = team.stream()
-                .mapToDouble(hero -> hero.stats().getOffensiveScore())
-                .sum();
+    /**
+     * Builds the AI team with a hard cap on upstream attempts and on total time, so a slow
+     * or failing superheroapi.com can no longer pin a Tomcat worker in an endless retry loop.
+     * Candidates are drawn from the known id range (1..HERO_COUNT) without repeats; ids the
+     * upstream reports as invalid are remembered and never drawn again. If the budget runs
+     * out, the team is filled with heroes that are already cached.
+     */
+    private List<HeroData> generateRandomTeam(int size) {
+        long deadline = System.nanoTime() + aiTeamTimeout.toNanos();
+        List<HeroData> team = new ArrayList<>(size);
+        Set<String> tried = new HashSet<>();
+        int attempts = 0;
+
+        while (team.size() < size && attempts < aiTeamMaxAttempts && tried.size() < SuperheroApiService.HERO_COUNT) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
 
-        double avgSpeed = team.stream()
-                .mapToDouble(hero -> hero.stats().speed())
-                .average()
-                .orElse(0);
+            String id = String.valueOf(ThreadLocalRandom.current().nextInt(SuperheroApiService.HERO_COUNT) + 1);
+            if (!tried.add(id) || invalidHeroIds.contains(id)) {
+                continue;
+            }
 
-        double totalDefense = team.stream()
-                .mapToDouble(hero -> hero.stats().getDefensiveScore())
-                .sum();
+            attempts++;
+            try {
+                team.add(superheroApiService.getHeroData(id, Duration.ofNanos(remaining)));
+            } catch (InvalidHeroIdException e) {
+                log.debug("AI team candidate {} does not exist upstream", id);
+                invalidHeroIds.add(id);
+            } catch (SuperheroApiException e) {
+                log.debug("AI team candidate {} rejected: {}", id, e.getMessage());
+            }
+        }
 
-        // Calculate damage per second
-        double dps = (totalOffense * avgSpeed) / 100;
+        meterRegistry.summary("superhero.battle.ai_team.attempts").record(attempts);
 
-        return new TeamStats(dps, (int) totalDefense);
+        if (team.size() < size) {
+            fillFromCache(team, size);
+        }
+        if (team.size() < size) {
+            throw new SuperheroApiException("Could not assemble an AI team, superhero API unavailable");
+        }
+        return team;
     }
 
-    private List<HeroData> generateRandomTeam(int size) {
-        List<HeroData> team = new ArrayList<>();
-
-        while (team.size() < size) {
-            String id = String.valueOf((int)(Math.random() * 731) + 1);
-            String url = String.format("https://superheroapi.com/api/%s/%s", apiKey, id);
+    private void fillFromCache(List<HeroData> team, int size) {
+        List<String> cachedIds = new ArrayList<>(superheroApiService.getCachedHeroIds());
+        team.forEach(hero -> cachedIds.remove(hero.id()));
+        Collections.shuffle(cachedIds, ThreadLocalRandom.current());
 
-            try {
-                Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-                if (response != null && "success".equals(response.get("response"))) {
-                    Map<String, String> image = (Map<String, String>) response.get("image");
-                    team.add(new HeroData(
-                            id,
-                            (String) response.get("name"),
-                            image.get("url"),
-                            HeroStats.fromApi((Map<String, String>)response.get("powerstats"))
-                    ));
-                }
-            } catch (Exception e) {
-                continue;
+        for (String id : cachedIds) {
+            if (team.size() >= size) {
+                break;
             }
+            superheroApiService.getCachedHeroData(id).ifPresent(team::add);
         }
-
-        return team;
+        meterRegistry.counter("superhero.battle.ai_team.cache_fallbacks").increment();
     }
-}
\ No newline at end of file
+}
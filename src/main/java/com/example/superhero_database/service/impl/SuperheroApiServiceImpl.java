@@ -0,0 +1,381 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.battle.HeroPowerIndex;
+import com.example.superhero_database.cache.CachedHero;
+import com.example.superhero_database.cache.HeroCache;
+import com.example.superhero_database.catalog.HeroCatalog;
+import com.example.superhero_database.dto.HeroBatchResponse;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.exception.SuperheroApiException;
+import com.example.superhero_database.parser.HeroPayloadParser;
+import com.example.superhero_database.resilience.HeroApiCircuitBreaker;
+import com.example.superhero_database.search.HeroSearchIndex;
+import com.example.superhero_database.service.SuperheroApiService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single entry point for all superheroapi.com calls.
+ * Heroes are served from the shared HeroCache, which holds the typed HeroData for the
+ * battle engine and the raw payload for the endpoints; the powerstats and image views are
+ * derived from the cached payload instead of separate requests.
+ * Every upstream call goes through the HeroApiCircuitBreaker.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SuperheroApiServiceImpl implements SuperheroApiService {
+
+    // URI templates instead of formatted strings: the http.client.requests metrics are tagged
+    // with the template, which keeps the api key out of the metrics and the tag cardinality low
+    private static final String HERO_URL = "https://superheroapi.com/api/{apiKey}/{id}";
+    private static final String SEARCH_URL = "https://superheroapi.com/api/{apiKey}/search/{name}";
+
+    @Value("${superhero.api.key}")
+    private String apiKey;
+
+    @Value("${superhero.fetch.deadline:PT5S}")
+    private Duration fetchDeadline;
+
+    @Value("${superhero.batch.max-size:100}")
+    private int maxBatchSize;
+
+    private final RestTemplate restTemplate;
+    private final HeroCache heroCache;
+    private final HeroPayloadParser heroPayloadParser;
+    private final HeroCatalog heroCatalog;
+    private final HeroSearchIndex heroSearchIndex;
+    private final HeroPowerIndex heroPowerIndex;
+    private final HeroApiCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService heroFetchExecutor;
+
+    // upstream fetches currently running, keyed by hero id
+    private final Map<String, CompletableFuture<CachedHero>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, Object> getHero(String id) {
+        return heroPayloadParser.toMap(getCachedHero(id).json());
+    }
+
+    /**
+     * Resolves a list of ids in one go: duplicates are dropped, cached heroes are answered
+     * directly and only the misses are fetched, concurrently and within the fetch deadline.
+     * A failing id does not fail the batch, it is reported in the errors map instead.
+     */
+    @Override
+    public HeroBatchResponse getHeroes(List<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > maxBatchSize) {
+            throw new SuperheroApiException("Batch contains " + uniqueIds.size() + " ids, maximum is " + maxBatchSize);
+        }
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        Map<String, CachedHero> heroes = resolveBatch(uniqueIds, errors);
+
+        Map<String, Object> payloads = new LinkedHashMap<>();
+        heroes.forEach((id, hero) -> payloads.put(id, heroPayloadParser.toMap(hero.json())));
+        return new HeroBatchResponse(payloads, errors);
+    }
+
+    /**
+     * Typed variant of getHeroes for background jobs: ids that cannot be resolved are left out.
+     */
+    @Override
+    public Map<String, HeroData> findHeroData(List<String> ids) {
+        Map<String, HeroData> heroes = new LinkedHashMap<>();
+        resolveBatch(new LinkedHashSet<>(ids), new LinkedHashMap<>())
+                .forEach((id, hero) -> heroes.put(id, hero.data()));
+        return heroes;
+    }
+
+    private Map<String, CachedHero> resolveBatch(Set<String> uniqueIds, Map<String, String> errors) {
+        Map<String, CachedHero> heroes = new LinkedHashMap<>();
+        Map<String, Future<CachedHero>> pending = new LinkedHashMap<>();
+
+        for (String id : uniqueIds) {
+            Optional<CachedHero> cached = heroCache.get(id);
+            if (cached.isPresent()) {
+                heroes.put(id, cached.get());
+            } else {
+                pending.put(id, heroFetchExecutor.submit(() -> loadHero(id)));
+            }
+        }
+
+        long deadline = System.nanoTime() + fetchDeadline.toNanos();
+        for (Map.Entry<String, Future<CachedHero>> entry : pending.entrySet()) {
+            String id = entry.getKey();
+            Future<CachedHero> future = entry.getValue();
+            try {
+                heroes.put(id, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                errors.put(id, "Timed out after " + fetchDeadline.toMillis() + "ms");
+            } catch (ExecutionException e) {
+                errors.put(id, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.values().forEach(f -> f.cancel(true));
+                throw new SuperheroApiException("Interrupted while resolving heroes " + uniqueIds);
+            }
+        }
+
+        // keep request order, the misses were added after the cache hits
+        Map<String, CachedHero> ordered = new LinkedHashMap<>();
+        uniqueIds.stream().filter(heroes::containsKey).forEach(id -> ordered.put(id, heroes.get(id)));
+        return ordered;
+    }
+
+    /**
+     * In catalog mode the local hero catalog is asked first, the upstream only for unknown ids.
+     */
+    @Override
+    public HeroData getHeroData(String id) {
+        if (heroCatalog.isCatalogMode()) {
+            Optional<HeroData> hero = heroCatalog.find(id);
+            if (hero.isPresent()) {
+                return hero.get();
+            }
+        }
+        return getCachedHero(id).data();
+    }
+
+    /**
+     * Same as getHeroData(id), but gives up (and cancels the fetch) once timeout has passed.
+     */
+    @Override
+    public HeroData getHeroData(String id, Duration timeout) {
+        Future<HeroData> future = heroFetchExecutor.submit(() -> getHeroData(id));
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new SuperheroApiException("Timed out after " + timeout.toMillis() + "ms fetching superhero " + id);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SuperheroApiException apiException) {
+                throw apiException;
+            }
+            throw new SuperheroApiException("Error fetching superhero " + id + ": " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SuperheroApiException("Interrupted while fetching superhero " + id);
+        } finally {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Resolves all ids of one request concurrently on the hero fetch executor,
+     * so a team costs about one upstream round trip instead of one per hero.
+     * The whole batch shares a single deadline; the first failure (or the deadline)
+     * cancels every fetch that is still running.
+     */
+    @Override
+    public List<HeroData> resolveHeroes(List<String> ids) {
+        if (ids.size() <= 1 || (heroCatalog.isCatalogMode() && ids.stream().allMatch(id -> heroCatalog.find(id).isPresent()))) {
+            return ids.stream().map(this::getHeroData).toList();
+        }
+
+        long deadline = System.nanoTime() + fetchDeadline.toNanos();
+        CompletionService<HeroData> completion = new ExecutorCompletionService<>(heroFetchExecutor);
+        List<Future<HeroData>> futures = new ArrayList<>(ids.size());
+        try {
+            for (String id : ids) {
+                futures.add(completion.submit(() -> getHeroData(id)));
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                Future<HeroData> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new SuperheroApiException("Timed out after " + fetchDeadline.toMillis() + "ms resolving heroes " + ids);
+                }
+                // rethrows the first failure so the remaining fetches get cancelled below
+                done.get();
+            }
+
+            List<HeroData> heroes = new ArrayList<>(ids.size());
+            for (Future<HeroData> future : futures) {
+                heroes.add(future.get());
+            }
+            return heroes;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SuperheroApiException apiException) {
+                throw apiException;
+            }
+            throw new SuperheroApiException("Error resolving heroes " + ids + ": " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SuperheroApiException("Interrupted while resolving heroes " + ids);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public List<String> getCachedHeroIds() {
+        if (heroCatalog.isCatalogMode() && heroCatalog.size() > 0) {
+            return heroCatalog.ids();
+        }
+        return heroCache.ids();
+    }
+
+    @Override
+    public Optional<HeroData> getCachedHeroData(String id) {
+        Optional<HeroData> hero = heroCatalog.find(id);
+        return hero.isPresent() ? hero : heroCache.getStale(id).map(CachedHero::data);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getPowerStats(String id) {
+        Map<String, Object> hero = getHero(id);
+        Map<String, Object> powerStats = new LinkedHashMap<>();
+        powerStats.put("response", hero.get("response"));
+        powerStats.put("id", hero.get("id"));
+        powerStats.put("name", hero.get("name"));
+        powerStats.putAll((Map<String, Object>) hero.get("powerstats"));
+        return powerStats;
+    }
+
+    @Override
+    public Map<String, Object> getImage(String id) {
+        HeroData hero = getHeroData(id);
+        Map<String, Object> image = new LinkedHashMap<>();
+        image.put("response", "success");
+        image.put("id", hero.id());
+        image.put("name", hero.name());
+        image.put("url", hero.imageUrl());
+        return image;
+    }
+
+    /**
+     * Answers from the local HeroSearchIndex in the upstream /search response format.
+     * Only while the index has not been built yet is the search forwarded to superheroapi.com.
+     */
+    @Override
+    public Object searchHeroes(String name, int limit) {
+        if (heroSearchIndex.isEmpty()) {
+            return circuitBreaker.execute(() -> restTemplate.getForObject(SEARCH_URL, Object.class, apiKey, name));
+        }
+
+        List<Map<String, Object>> results = heroSearchIndex.search(name, limit);
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (results.isEmpty()) {
+            response.put("response", "error");
+            response.put("error", "character with given name not found");
+            return response;
+        }
+        response.put("response", "success");
+        response.put("results-for", name);
+        response.put("results", results);
+        return response;
+    }
+
+    @Override
+    public List<Map<String, Object>> getRandomHeroes(int count) {
+        List<Map<String, Object>> heroes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int randomId = ThreadLocalRandom.current().nextInt(HERO_COUNT) + 1;
+            heroes.add(getHero(String.valueOf(randomId)));
+        }
+        return heroes;
+    }
+
+    private CachedHero getCachedHero(String id) {
+        return heroCache.get(id).orElseGet(() -> loadHero(id));
+    }
+
+    /**
+     * Single-flight load: the first caller for an id fetches it, concurrent callers for the
+     * same id wait on that caller's future instead of sending their own upstream request.
+     */
+    private CachedHero loadHero(String id) {
+        CompletableFuture<CachedHero> flight = new CompletableFuture<>();
+        CompletableFuture<CachedHero> existing = inFlight.putIfAbsent(id, flight);
+        if (existing != null) {
+            meterRegistry.counter("superhero.hero.fetch.coalesced").increment();
+            return awaitFlight(id, existing);
+        }
+
+        try {
+            // the previous flight may have cached the hero between our miss and putIfAbsent
+            CachedHero hero = heroCache.peek(id).orElseGet(() -> fetchAndCacheHero(id));
+            flight.complete(hero);
+            return hero;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, flight);
+        }
+    }
+
+    private CachedHero awaitFlight(String id, CompletableFuture<CachedHero> flight) {
+        try {
+            return flight.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SuperheroApiException("Error fetching superhero " + id + ": " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SuperheroApiException("Interrupted while fetching superhero " + id);
+        }
+    }
+
+    /**
+     * Fetches through the circuit breaker. If the call fails or is not permitted while the
+     * breaker is open, an expired cache entry is served instead (stale-while-revalidate:
+     * the next lookup after the ttl tries the upstream again).
+     */
+    private CachedHero fetchAndCacheHero(String id) {
+        CachedHero hero;
+        try {
+            hero = circuitBreaker.execute(() -> fetchHero(id));
+        } catch (RuntimeException e) {
+            Optional<CachedHero> stale = heroCache.getStale(id);
+            if (stale.isPresent()) {
+                log.debug("Serving stale superhero {}: {}", id, e.getMessage());
+                return stale.get();
+            }
+            throw e;
+        }
+        heroCache.put(id, hero);
+        heroPowerIndex.put(hero.data());
+        return hero;
+    }
+
+    /**
+     * Reads the raw payload and streams the typed HeroData out of it (see HeroPayloadParser);
+     * the raw bytes are kept for the endpoints that return the full payload.
+     */
+    private CachedHero fetchHero(String id) {
+        byte[] json = restTemplate.getForObject(HERO_URL, byte[].class, apiKey, id);
+        if (json == null || json.length == 0) {
+            throw new SuperheroApiException("Error fetching superhero " + id + ": empty response");
+        }
+        return new CachedHero(heroPayloadParser.parse(id, json), json);
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.battle.HeroStatsResolver;
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.dto.battle.TeamStats;
+import com.example.superhero_database.dto.battle.TournamentRequest;
+import com.example.superhero_database.dto.battle.TournamentStanding;
+import com.example.superhero_database.dto.battle.TournamentStatus;
+import com.example.superhero_database.exception.SuperheroApiException;
+import com.example.superhero_database.service.TournamentService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Round-robin and Swiss tournaments on top of the TeamStats survival time model.
+ *
+ * Team stats are computed once per team from the HeroStatsStore; every battle after that
+ * is two divisions. The pairwise evaluation runs as a parallel stream (common ForkJoinPool),
+ * partitioned by row for round-robin and by pairing for Swiss rounds, so a 1,000 team
+ * round-robin (about 500k battles) takes well under a second.
+ *
+ * Tournaments run in the background on a small private pool; callers poll the status
+ * (progress, standings) and may cancel. A queued tournament is finished as cancelled right
+ * away; a running one stops at the next row or round and stays RUNNING (and is never
+ * evicted) until its work is done. Finished tournaments are kept until
+ * superhero.tournament.max-stored is reached, then the oldest finished one is dropped.
+ */
+@Service
+@Slf4j
+public class TournamentServiceImpl implements TournamentService {
+
+    private static final String ROUND_ROBIN = "ROUND_ROBIN";
+    private static final String SWISS = "SWISS";
+
+    private final HeroStatsStore heroStatsStore;
+    private final HeroStatsResolver heroStatsResolver;
+    private final int maxTeams;
+    private final int maxStored;
+    private final ExecutorService runner;
+
+    private final Map<String, Tournament> tournaments = new ConcurrentHashMap<>();
+
+    public TournamentServiceImpl(HeroStatsStore heroStatsStore,
+                                 HeroStatsResolver heroStatsResolver,
+                                 @Value("${superhero.tournament.max-teams:2000}") int maxTeams,
+                                 @Value("${superhero.tournament.max-running:2}") int maxRunning,
+                                 @Value("${superhero.tournament.max-stored:50}") int maxStored) {
+        this.heroStatsStore = heroStatsStore;
+        this.heroStatsResolver = heroStatsResolver;
+        this.maxTeams = maxTeams;
+        this.maxStored = maxStored;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.runner = Executors.newFixedThreadPool(maxRunning, runnable -> {
+            Thread thread = new Thread(runnable, "tournament-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    @Override
+    public TournamentStatus startTournament(TournamentRequest request) {
+        String format = request.format() == null ? ROUND_ROBIN : request.format().toUpperCase();
+        if (!ROUND_ROBIN.equals(format) && !SWISS.equals(format)) {
+            throw new SuperheroApiException("Unknown tournament format: " + request.format());
+        }
+
+        int[][] teams = buildTeams(request);
+        if (teams.length < 2 || teams.length > maxTeams) {
+            throw new SuperheroApiException("A tournament needs between 2 and " + maxTeams + " teams, got " + teams.length);
+        }
+        heroStatsResolver.ensureLoaded(Arrays.stream(teams).flatMapToInt(Arrays::stream).toArray());
+
+        // beyond teams - 1 rounds Swiss pairings can only repeat, and the total would overflow
+        int rounds = request.rounds() != null
+                ? Math.max(1, Math.min(request.rounds(), teams.length - 1))
+                : 32 - Integer.numberOfLeadingZeros(teams.length - 1);
+        long battlesTotal = ROUND_ROBIN.equals(format)
+                ? (long) teams.length * (teams.length - 1) / 2
+                : (long) rounds * (teams.length / 2);
+
+        makeRoom();
+        Tournament tournament = new Tournament(UUID.randomUUID().toString(), format, teams, rounds, battlesTotal);
+        tournaments.put(tournament.id, tournament);
+        tournament.future = runner.submit(() -> run(tournament));
+        return tournament.status(0);
+    }
+
+    @Override
+    public Optional<TournamentStatus> getTournament(String id, int limit) {
+        return Optional.ofNullable(tournaments.get(id)).map(tournament -> tournament.status(limit));
+    }
+
+    @Override
+    public Optional<TournamentStatus> cancelTournament(String id) {
+        Tournament tournament = tournaments.get(id);
+        if (tournament == null) {
+            return Optional.empty();
+        }
+        tournament.cancelled = true;
+        if (tournament.started.compareAndSet(false, true)) {
+            // it never started, and run() will now return without touching it
+            if (tournament.future != null) {
+                tournament.future.cancel(false);
+            }
+            tournament.finish("CANCELLED", null);
+        }
+        // otherwise the running rounds stop at the cancelled flag and run() finishes it
+        return Optional.of(tournament.status(0));
+    }
+
+    private void run(Tournament tournament) {
+        if (!tournament.started.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            TeamStats[] stats = new TeamStats[tournament.teams.length];
+            for (int i = 0; i < stats.length; i++) {
+                stats[i] = heroStatsStore.teamStats(tournament.teams[i]);
+            }
+
+            if (ROUND_ROBIN.equals(tournament.format)) {
+                roundRobin(tournament, stats);
+            } else {
+                swiss(tournament, stats);
+            }
+            tournament.finish(tournament.cancelled ? "CANCELLED" : "COMPLETED", null);
+        } catch (RuntimeException e) {
+            log.error("Tournament {} failed", tournament.id, e);
+            tournament.finish("FAILED", e.getMessage());
+        }
+    }
+
+    private void roundRobin(Tournament tournament, TeamStats[] stats) {
+        int teams = stats.length;
+        IntStream.range(0, teams).parallel().forEach(i -> {
+            if (tournament.cancelled) {
+                return;
+            }
+            for (int j = i + 1; j < teams; j++) {
+                play(tournament, stats, i, j);
+            }
+            tournament.battlesDone.add(teams - 1 - i);
+        });
+    }
+
+    /**
+     * Each round pairs teams with equal or close points that have not met yet;
+     * with an odd number of teams the lowest unpaired team sits the round out.
+     */
+    private void swiss(Tournament tournament, TeamStats[] stats) {
+        int teams = stats.length;
+        Set<Long> played = new HashSet<>();
+
+        for (int round = 0; round < tournament.rounds && !tournament.cancelled; round++) {
+            Integer[] order = IntStream.range(0, teams).boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.comparingInt((Integer t) -> -tournament.points(t)).thenComparingInt(t -> t));
+
+            boolean[] paired = new boolean[teams];
+            List<int[]> pairs = new ArrayList<>(teams / 2);
+            for (int a = 0; a < teams; a++) {
+                int first = order[a];
+                if (paired[first]) {
+                    continue;
+                }
+                int fallback = -1;
+                int opponent = -1;
+                for (int b = a + 1; b < teams; b++) {
+                    int second = order[b];
+                    if (paired[second]) {
+                        continue;
+                    }
+                    if (fallback < 0) {
+                        fallback = second;
+                    }
+                    if (!played.contains(pairKey(first, second))) {
+                        opponent = second;
+                        break;
+                    }
+                }
+                if (opponent < 0) {
+                    opponent = fallback;
+                }
+                if (opponent < 0) {
+                    break;
+                }
+                paired[first] = true;
+                paired[opponent] = true;
+                played.add(pairKey(first, opponent));
+                pairs.add(new int[]{first, opponent});
+            }
+
+            pairs.parallelStream().forEach(pair -> play(tournament, stats, pair[0], pair[1]));
+            tournament.battlesDone.add(pairs.size());
+        }
+    }
+
+    private static void play(Tournament tournament, TeamStats[] stats, int a, int b) {
+        double survivalA = stats[a].survivalTime(stats[b]);
+        double survivalB = stats[b].survivalTime(stats[a]);
+        if (survivalA > survivalB) {
+            tournament.wins.incrementAndGet(a);
+            tournament.losses.incrementAndGet(b);
+        } else if (survivalB > survivalA) {
+            tournament.wins.incrementAndGet(b);
+            tournament.losses.incrementAndGet(a);
+        } else {
+            tournament.draws.incrementAndGet(a);
+            tournament.draws.incrementAndGet(b);
+        }
+    }
+
+    private static long pairKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+
+    private int[][] buildTeams(TournamentRequest request) {
+        if (request.teams() != null && !request.teams().isEmpty()) {
+            return request.teams().stream()
+                    .map(team -> team.stream().mapToInt(Integer::intValue).toArray())
+                    .toArray(int[][]::new);
+        }
+        if (request.heroes() == null || request.heroes().size() < 2) {
+            throw new SuperheroApiException("Either teams or at least two heroes must be given");
+        }
+
+        int[] heroes = request.heroes().stream().mapToInt(Integer::intValue).distinct().toArray();
+        long teamCount = (long) heroes.length * (heroes.length - 1) / 2;
+        if (teamCount > maxTeams) {
+            throw new SuperheroApiException(heroes.length + " heroes make " + teamCount + " teams, maximum is " + maxTeams);
+        }
+        int[][] teams = new int[(int) teamCount][];
+        int index = 0;
+        for (int i = 0; i < heroes.length; i++) {
+            for (int j = i + 1; j < heroes.length; j++) {
+                teams[index++] = new int[]{heroes[i], heroes[j]};
+            }
+        }
+        return teams;
+    }
+
+    private void makeRoom() {
+        while (tournaments.size() >= maxStored) {
+            Optional<Tournament> oldest = tournaments.values().stream()
+                    .filter(tournament -> tournament.finishedAt > 0)
+                    .min(Comparator.comparingLong(tournament -> tournament.finishedAt));
+            if (oldest.isEmpty()) {
+                throw new SuperheroApiException("Too many tournaments running, try again later");
+            }
+            tournaments.remove(oldest.get().id);
+        }
+    }
+
+    private static final class Tournament {
+        final String id;
+        final String format;
+        final int[][] teams;
+        final int rounds;
+        final long battlesTotal;
+        final AtomicIntegerArray wins;
+        final AtomicIntegerArray losses;
+        final AtomicIntegerArray draws;
+        final LongAdder battlesDone = new LongAdder();
+        // claimed by whichever comes first: run() starting or a cancel before the start
+        final AtomicBoolean started = new AtomicBoolean();
+
+        volatile boolean cancelled;
+        volatile String status = "RUNNING";
+        volatile String error;
+        volatile long finishedAt;
+        volatile Future<?> future;
+
+        Tournament(String id, String format, int[][] teams, int rounds, long battlesTotal) {
+            this.id = id;
+            this.format = format;
+            this.teams = teams;
+            this.rounds = rounds;
+            this.battlesTotal = battlesTotal;
+            this.wins = new AtomicIntegerArray(teams.length);
+            this.losses = new AtomicIntegerArray(teams.length);
+            this.draws = new AtomicIntegerArray(teams.length);
+        }
+
+        int points(int team) {
+            return 2 * wins.get(team) + draws.get(team);
+        }
+
+        void finish(String finalStatus, String message) {
+            error = message;
+            status = finalStatus;
+            finishedAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Standings (best first) are included up to limit entries; they are partial while running.
+         */
+        TournamentStatus status(int limit) {
+            long done = battlesDone.sum();
+            List<TournamentStanding> standings = List.of();
+            if (limit > 0) {
+                Integer[] order = IntStream.range(0, teams.length).boxed().toArray(Integer[]::new);
+                Arrays.sort(order, Comparator.comparingInt((Integer t) -> -points(t))
+                        .thenComparingInt(t -> -wins.get(t))
+                        .thenComparingInt(t -> t));
+                standings = new ArrayList<>(Math.min(limit, order.length));
+                for (int rank = 0; rank < order.length && rank < limit; rank++) {
+                    int team = order[rank];
+                    standings.add(new TournamentStanding(
+                            rank + 1,
+                            Arrays.stream(teams[team]).boxed().toList(),
+                            wins.get(team),
+                            losses.get(team),
+                            draws.get(team)
+                    ));
+                }
+            }
+            double progress = battlesTotal == 0 ? 1.0 : (double) done / battlesTotal;
+            return new TournamentStatus(id, format, status, teams.length, battlesTotal, done, progress, error, standings);
+        }
+    }
+}
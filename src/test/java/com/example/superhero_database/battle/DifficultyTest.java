@@ -0,0 +1,33 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.exception.SuperheroApiException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DifficultyTest {
+
+    @Test
+    void parsesNamesIgnoringCaseAndSurroundingBlanks() {
+        assertThat(Difficulty.of("easy")).isEqualTo(Difficulty.EASY);
+        assertThat(Difficulty.of("Normal")).isEqualTo(Difficulty.NORMAL);
+        assertThat(Difficulty.of(" HARD ")).isEqualTo(Difficulty.HARD);
+    }
+
+    @Test
+    void rejectsUnknownNames() {
+        assertThatThrownBy(() -> Difficulty.of("nightmare"))
+                .isInstanceOf(SuperheroApiException.class)
+                .hasMessageContaining("nightmare");
+        assertThatThrownBy(() -> Difficulty.of(""))
+                .isInstanceOf(SuperheroApiException.class);
+    }
+
+    @Test
+    void factorsGrowWithTheDifficulty() {
+        assertThat(Difficulty.NORMAL.getFactor()).isEqualTo(1.0);
+        assertThat(Difficulty.EASY.getFactor()).isLessThan(Difficulty.NORMAL.getFactor());
+        assertThat(Difficulty.HARD.getFactor()).isGreaterThan(Difficulty.NORMAL.getFactor());
+    }
+}
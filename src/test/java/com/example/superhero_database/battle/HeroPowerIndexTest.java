@@ -0,0 +1,103 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hero i has every stat at i, so its power is 4 * i (1 - 100, powers 4 - 400).
+ */
+class HeroPowerIndexTest {
+
+    private static final int HEROES = 100;
+
+    private final HeroPowerIndex index = new HeroPowerIndex();
+
+    @BeforeEach
+    void setUp() {
+        for (int id = 1; id <= HEROES; id++) {
+            index.put(hero(id));
+        }
+    }
+
+    @Test
+    void everyHeroIsDrawnFromTheBandAroundItsShare() {
+        for (int i = 0; i < 200; i++) {
+            List<HeroData> team = index.pickTeam(2, 200, Set.of()).orElseThrow();
+
+            assertThat(team).hasSize(2).doesNotHaveDuplicates();
+            // the first slot's share is 100, its band +-10 power points
+            assertThat(HeroPowerIndex.power(team.get(0).stats())).isBetween(90, 110);
+            // the last slot takes what is left, so the team lands about one band from the target
+            assertThat(HeroPowerIndex.power(team)).isBetween(185, 215);
+        }
+    }
+
+    @Test
+    void bandWidensWithTheShare() {
+        for (int i = 0; i < 200; i++) {
+            List<HeroData> team = index.pickTeam(1, 300, Set.of()).orElseThrow();
+
+            assertThat(HeroPowerIndex.power(team)).isBetween(270, 330);
+        }
+    }
+
+    @Test
+    void excludedHeroesAreNeverPicked() {
+        Set<String> excluded = Set.of("23", "24", "26", "27");
+
+        for (int i = 0; i < 50; i++) {
+            List<HeroData> team = index.pickTeam(2, 200, excluded).orElseThrow();
+
+            assertThat(team).extracting(HeroData::id).doesNotContainAnyElementsOf(excluded);
+        }
+    }
+
+    @Test
+    void fullyExcludedBandFallsBackToTheClosestUnusedHero() {
+        // powers 90 - 110 are heroes 23 - 27, the closest one left is hero 22 just below
+        Set<String> excluded = Set.of("23", "24", "25", "26", "27");
+
+        List<HeroData> team = index.pickTeam(1, 100, excluded).orElseThrow();
+
+        assertThat(team).extracting(HeroData::id).containsExactly("22");
+    }
+
+    @Test
+    void targetsOutsideTheIndexFallBackToTheClosestHeroes() {
+        List<HeroData> team = index.pickTeam(2, 2000, Set.of()).orElseThrow();
+
+        assertThat(team).extracting(HeroData::id).containsExactly(String.valueOf(HEROES), String.valueOf(HEROES - 1));
+    }
+
+    @Test
+    void emptyUntilEnoughHeroesAreIndexed() {
+        HeroPowerIndex small = new HeroPowerIndex();
+        small.put(hero(1));
+        small.put(hero(2));
+
+        assertThat(small.pickTeam(2, 20, Set.of("1"))).isEmpty();
+        assertThat(small.pickTeam(2, 20, Set.of())).isPresent();
+    }
+
+    @Test
+    void changedStatsMoveAHeroToItsNewBand() {
+        index.put(new HeroData("1", "hero 1", "", new HeroStats(75, 75, 75, 75, 75)));
+
+        for (int i = 0; i < 50; i++) {
+            List<HeroData> team = index.pickTeam(1, 8, Set.of()).orElseThrow();
+
+            assertThat(team).extracting(HeroData::id).doesNotContain("1");
+        }
+    }
+
+    private static HeroData hero(int id) {
+        return new HeroData(String.valueOf(id), "hero " + id, "", new HeroStats(id, id, id, id, id));
+    }
+}
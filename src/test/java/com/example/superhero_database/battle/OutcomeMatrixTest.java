@@ -0,0 +1,111 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.dto.battle.TeamStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withPercentage;
+
+class OutcomeMatrixTest {
+
+    @TempDir
+    Path dir;
+
+    private HeroStatsStore store;
+    private int last;
+
+    @BeforeEach
+    void setUp() {
+        store = new HeroStatsStore();
+        last = store.getCapacity() - 1;
+        // the first and last ids exercise both ends of every pair row
+        int[] ids = {1, 2, 3, 70, 644, last - 1, last};
+        for (int i = 0; i < ids.length; i++) {
+            store.put(new HeroData(String.valueOf(ids[i]), "hero " + ids[i], "",
+                    new HeroStats(10 + i, 20 + 2 * i, 30 + 3 * i, 40 + i, 50 + 5 * i)));
+        }
+    }
+
+    @Test
+    void pairsAreStoredAtTheirTriangularOffset() throws Exception {
+        OutcomeMatrix matrix = new OutcomeMatrix(store, dir.resolve("matrix.bin"));
+        matrix.rebuild();
+
+        int[][] pairs = {{1, 2}, {2, 3}, {1, 644}, {70, 644}, {3, last}, {last - 1, last}};
+        for (int[] pair : pairs) {
+            assertThat(matrix.strength(pair[0], pair[1])).isEqualTo(expected(pair));
+            assertThat(matrix.strength(pair[1], pair[0])).isEqualTo(expected(pair));
+        }
+        assertThat(matrix.strength(70)).isEqualTo(expected(new int[]{70}));
+        assertThat(matrix.strength(last)).isEqualTo(expected(new int[]{last}));
+    }
+
+    @Test
+    void unknownHeroesAndInvalidTeamsAreNaN() throws Exception {
+        OutcomeMatrix matrix = new OutcomeMatrix(store, dir.resolve("matrix.bin"));
+        assertThat(matrix.strength(1, 2)).isNaN();
+
+        matrix.rebuild();
+
+        assertThat(matrix.strength(4)).isNaN();
+        assertThat(matrix.strength(1, 4)).isNaN();
+        assertThat(matrix.strength(2, 2)).isNaN();
+        assertThat(matrix.strength(1, last + 1)).isNaN();
+        assertThat(matrix.strength(new int[]{1, 2, 3})).isNaN();
+    }
+
+    @Test
+    void survivalRatioMatchesTheBattleModel() throws Exception {
+        OutcomeMatrix matrix = new OutcomeMatrix(store, dir.resolve("matrix.bin"));
+        matrix.rebuild();
+
+        int[] a = {1, 644};
+        int[] b = {70, last};
+        TeamStats statsA = store.teamStats(a);
+        TeamStats statsB = store.teamStats(b);
+        double modelRatio = statsA.survivalTime(statsB) / statsB.survivalTime(statsA);
+
+        assertThat((double) matrix.survivalRatio(a, b)).isCloseTo(modelRatio, withPercentage(0.01));
+    }
+
+    @Test
+    void rebuiltFileIsMappedAgainOnStartup() throws Exception {
+        Path file = dir.resolve("matrix.bin");
+        new OutcomeMatrix(store, file).rebuild();
+
+        int capacity = store.getCapacity();
+        long pairs = (long) capacity * (capacity - 1) / 2;
+        assertThat(Files.size(file)).isEqualTo(24 + 4L * capacity + 4L * pairs);
+
+        OutcomeMatrix reloaded = new OutcomeMatrix(store, file);
+        reloaded.load();
+        assertThat(reloaded.isAvailable()).isTrue();
+        assertThat(reloaded.strength(last - 1, last)).isEqualTo(expected(new int[]{last - 1, last}));
+    }
+
+    @Test
+    void truncatedFileIsIgnored() throws Exception {
+        Path file = dir.resolve("matrix.bin");
+        new OutcomeMatrix(store, file).rebuild();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        OutcomeMatrix reloaded = new OutcomeMatrix(store, file);
+        reloaded.load();
+
+        assertThat(reloaded.isAvailable()).isFalse();
+    }
+
+    private float expected(int[] team) {
+        TeamStats stats = store.teamStats(team);
+        return (float) (stats.defense() * stats.damagePerSecond());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.dto.battle.TeamStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamStatsCacheTest {
+
+    @Test
+    void keyIsIndependentOfHeroOrder() {
+        assertThat(TeamStatsCache.key(new int[]{70, 3, 644})).isEqualTo(TeamStatsCache.key(new int[]{644, 70, 3}));
+        assertThat(TeamStatsCache.key(new int[]{1, 2})).isNotEqualTo(TeamStatsCache.key(new int[]{1, 3}));
+    }
+
+    @Test
+    void keyEncodesTeamSize() {
+        // a leading hero id 0 must not make a 2-hero team collide with a single hero
+        assertThat(TeamStatsCache.key(new int[]{0, 5})).isNotEqualTo(TeamStatsCache.key(new int[]{5}));
+    }
+
+    @Test
+    void keyRejectsTeamsThatDoNotFit() {
+        assertThat(TeamStatsCache.key(new int[0])).isEqualTo(-1);
+        assertThat(TeamStatsCache.key(new int[]{1, 2, 3, 4, 5, 6})).isEqualTo(-1);
+        assertThat(TeamStatsCache.key(new int[]{4096})).isEqualTo(-1);
+        assertThat(TeamStatsCache.key(new int[]{-1, 2})).isEqualTo(-1);
+        assertThat(TeamStatsCache.key(new int[]{4095, 4094, 4093, 4092, 4091})).isPositive();
+    }
+
+    @Test
+    void statsChangeInvalidatesCachedTeams() {
+        HeroStatsStore store = new HeroStatsStore();
+        TeamStatsCache cache = new TeamStatsCache(store, 100);
+        store.put(hero(1, 50));
+        store.put(hero(2, 60));
+        int[] team = {1, 2};
+
+        TeamStats before = cache.get(team);
+        assertThat(cache.get(team)).isSameAs(before);
+
+        store.put(hero(1, 90));
+        assertThat(cache.get(team)).isEqualTo(store.teamStats(team)).isNotEqualTo(before);
+    }
+
+    @Test
+    void addingAHeroInvalidatesTeamsComputedWithoutIt() {
+        HeroStatsStore store = new HeroStatsStore();
+        TeamStatsCache cache = new TeamStatsCache(store, 100);
+        store.put(hero(1, 50));
+        int[] team = {1, 2};
+
+        // hero 2 is not in the store yet and counts with zero stats
+        TeamStats partial = cache.get(team);
+
+        store.put(hero(2, 60));
+        assertThat(cache.get(team)).isEqualTo(store.teamStats(team)).isNotEqualTo(partial);
+    }
+
+    @Test
+    void unchangedPutsKeepTheCache() {
+        HeroStatsStore store = new HeroStatsStore();
+        TeamStatsCache cache = new TeamStatsCache(store, 100);
+        store.put(hero(1, 50));
+        store.put(hero(2, 60));
+        int[] team = {1, 2};
+        TeamStats cached = cache.get(team);
+
+        store.put(hero(1, 50));
+
+        assertThat(cache.get(team)).isSameAs(cached);
+    }
+
+    @Test
+    void concurrentPutsNeverLeaveStaleStatsCached() throws Exception {
+        HeroStatsStore store = new HeroStatsStore();
+        TeamStatsCache cache = new TeamStatsCache(store, 100);
+        store.put(hero(1, 10));
+        store.put(hero(2, 20));
+        int[] team = {1, 2};
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 200; round++) {
+                AtomicBoolean running = new AtomicBoolean(true);
+                CountDownLatch start = new CountDownLatch(1);
+                int rounds = round;
+                Future<?> writer = pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        store.put(hero(1, 10 + (rounds * 50 + i) % 90));
+                    }
+                    running.set(false);
+                    return null;
+                });
+                Future<?>[] readers = new Future<?>[3];
+                for (int r = 0; r < readers.length; r++) {
+                    readers[r] = pool.submit(() -> {
+                        start.await();
+                        while (running.get()) {
+                            cache.get(team);
+                        }
+                        return null;
+                    });
+                }
+                start.countDown();
+                writer.get(10, TimeUnit.SECONDS);
+                for (Future<?> reader : readers) {
+                    reader.get(10, TimeUnit.SECONDS);
+                }
+
+                assertThat(cache.get(team)).isEqualTo(store.teamStats(team));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static HeroData hero(int id, int value) {
+        return new HeroData(String.valueOf(id), "Hero " + id, null, new HeroStats(value, value, value, value, value));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.superhero_database.battle;
+
+import com.example.superhero_database.dto.battle.BattleResult;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickBattleEngineTest {
+
+    private static final int[] TEAM_1 = {1, 2};
+    private static final int[] TEAM_2 = {3, 4, 5};
+
+    private TickBattleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        HeroStatsStore store = new HeroStatsStore();
+        store.put(hero(1, new HeroStats(40, 60, 35, 50, 55)));
+        store.put(hero(2, new HeroStats(80, 30, 70, 20, 40)));
+        store.put(hero(3, new HeroStats(30, 30, 50, 40, 30)));
+        store.put(hero(4, new HeroStats(55, 45, 25, 60, 35)));
+        store.put(hero(5, new HeroStats(20, 70, 90, 30, 25)));
+        engine = new TickBattleEngine(store, new TeamStatsCache(store, 100));
+    }
+
+    @Test
+    void sameSeedReplaysTheSameBattle() {
+        for (long seed : new long[]{0, 1, 42, -7, Long.MAX_VALUE}) {
+            Recorder first = new Recorder();
+            Recorder second = new Recorder();
+
+            BattleResult a = engine.fight(TEAM_1, TEAM_2, seed, first);
+            // another battle in between must not leak state through the reused buffers
+            engine.fight(TEAM_2, TEAM_1, seed + 1, BattleEventListener.NONE);
+            BattleResult b = engine.fight(TEAM_1, TEAM_2, seed, second);
+
+            assertThat(b).isEqualTo(a);
+            assertThat(second.events).isNotEmpty().isEqualTo(first.events);
+        }
+    }
+
+    @Test
+    void differentSeedsVaryTheBattle() {
+        Set<List<String>> timelines = new HashSet<>();
+        for (long seed = 0; seed < 20; seed++) {
+            Recorder recorder = new Recorder();
+            engine.fight(TEAM_1, TEAM_2, seed, recorder);
+            timelines.add(recorder.events);
+        }
+
+        assertThat(timelines).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void battleEndsWithOneTeamKnockedOut() {
+        Recorder recorder = new Recorder();
+        BattleResult result = engine.fight(TEAM_1, TEAM_2, 42, recorder);
+
+        int[] defeated = result.victory() ? TEAM_2 : TEAM_1;
+        for (int hero : defeated) {
+            assertThat(recorder.events).anyMatch(event -> event.startsWith("ko " + hero + " "));
+        }
+    }
+
+    private static HeroData hero(int id, HeroStats stats) {
+        return new HeroData(String.valueOf(id), "hero " + id, "", stats);
+    }
+
+    private static final class Recorder implements BattleEventListener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onAttack(double time, int attacker, int target, int damage, int remainingHp) {
+            events.add("attack " + attacker + " " + target + " " + damage + " " + remainingHp + " @" + time);
+        }
+
+        @Override
+        public void onKnockout(double time, int hero) {
+            events.add("ko " + hero + " @" + time);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.superhero_database.catalog;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeroCatalogSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsHeroes() throws Exception {
+        HeroCatalogSnapshot snapshot = new HeroCatalogSnapshot(dir.resolve("catalog.bin"));
+        List<HeroData> heroes = List.of(
+                new HeroData("1", "A-Bomb", "https://example.com/1.jpg", new HeroStats(100, 24, 17, 38, 80)),
+                new HeroData("644", "Superman", "https://example.com/644.jpg", new HeroStats(100, 100, 100, 94, 100)),
+                new HeroData("70", "Batman ünicode", "", new HeroStats(26, 47, 27, 100, 50))
+        );
+
+        snapshot.write(heroes);
+
+        assertThat(snapshot.load()).containsExactlyInAnyOrderElementsOf(heroes);
+    }
+
+    @Test
+    void leavesOutHeroesThatDoNotFitInsteadOfTruncating() throws Exception {
+        HeroCatalogSnapshot snapshot = new HeroCatalogSnapshot(dir.resolve("catalog.bin"));
+        HeroData fits = new HeroData("1", "A-Bomb", "https://example.com/" + "a".repeat(480), new HeroStats(1, 2, 3, 4, 5));
+        HeroData tooLong = new HeroData("2", "Abe Sapien", "https://example.com/" + "b".repeat(600), new HeroStats(1, 2, 3, 4, 5));
+
+        snapshot.write(List.of(fits, tooLong));
+
+        assertThat(snapshot.load()).containsExactly(fits);
+    }
+
+    @Test
+    void missingFileLoadsNothing() {
+        assertThat(new HeroCatalogSnapshot(dir.resolve("missing.bin")).load()).isEmpty();
+    }
+
+    @Test
+    void truncatedFileIsIgnored() throws Exception {
+        Path file = dir.resolve("catalog.bin");
+        HeroCatalogSnapshot snapshot = new HeroCatalogSnapshot(file);
+        snapshot.write(List.of(new HeroData("1", "A-Bomb", "https://example.com/1.jpg", new HeroStats(1, 2, 3, 4, 5))));
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 100));
+
+        assertThat(snapshot.load()).isEmpty();
+    }
+
+    @Test
+    void corruptRecordIsIgnored() throws Exception {
+        Path file = dir.resolve("catalog.bin");
+        HeroCatalogSnapshot snapshot = new HeroCatalogSnapshot(file);
+        snapshot.write(List.of(new HeroData("1", "A-Bomb", "https://example.com/1.jpg", new HeroStats(1, 2, 3, 4, 5))));
+
+        // name length of the first record (header 24 bytes, id and stats 24 bytes)
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        bytes.putShort(48, (short) -7);
+        Files.write(file, bytes.array());
+
+        assertThat(snapshot.load()).isEmpty();
+    }
+
+    @Test
+    void negativeCountIsIgnored() throws Exception {
+        Path file = dir.resolve("catalog.bin");
+        HeroCatalogSnapshot snapshot = new HeroCatalogSnapshot(file);
+        snapshot.write(List.of());
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        bytes.putInt(16, -1);
+        Files.write(file, bytes.array());
+
+        assertThat(snapshot.load()).isEmpty();
+    }
+}
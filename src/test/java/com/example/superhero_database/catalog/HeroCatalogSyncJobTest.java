@@ -0,0 +1,125 @@
+package com.example.superhero_database.catalog;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.model.Hero;
+import com.example.superhero_database.repository.HeroRepository;
+import com.example.superhero_database.service.SuperheroApiService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Only missing and stale heroes are fetched; the heroes table is the cursor of the sync.
+ */
+class HeroCatalogSyncJobTest {
+
+    private final SuperheroApiService superheroApiService = mock(SuperheroApiService.class);
+    private final HeroRepository heroRepository = mock(HeroRepository.class);
+    private final HeroCatalog heroCatalog = mock(HeroCatalog.class);
+    private final HeroCatalogSnapshot heroCatalogSnapshot = mock(HeroCatalogSnapshot.class);
+    private Set<String> unresolvable = Set.of();
+    private HeroCatalogSyncJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new HeroCatalogSyncJob(superheroApiService, heroRepository, heroCatalog, heroCatalogSnapshot);
+        ReflectionTestUtils.setField(job, "batchSize", 2);
+        ReflectionTestUtils.setField(job, "batchDelay", Duration.ZERO);
+        ReflectionTestUtils.setField(job, "maxAge", Duration.ofDays(1));
+
+        when(superheroApiService.findHeroData(anyList())).thenAnswer(invocation -> {
+            List<String> ids = invocation.getArgument(0);
+            Map<String, HeroData> heroes = new LinkedHashMap<>();
+            ids.stream().filter(id -> !unresolvable.contains(id))
+                    .forEach(id -> heroes.put(id, new HeroData(id, "hero " + id, "", new HeroStats(1, 2, 3, 4, 5))));
+            return heroes;
+        });
+    }
+
+    @Test
+    void fetchesOnlyMissingAndStaleHeroesInBatches() throws Exception {
+        known(5, 400);
+        Hero stale = new Hero();
+        stale.setId(10);
+        when(heroRepository.findByUpdatedAtBefore(any())).thenReturn(List.of(stale));
+        unresolvable = Set.of("400");
+        long before = System.currentTimeMillis();
+
+        job.sync();
+
+        ArgumentCaptor<Date> cutoff = ArgumentCaptor.forClass(Date.class);
+        verify(heroRepository).findByUpdatedAtBefore(cutoff.capture());
+        assertThat(cutoff.getValue().getTime())
+                .isBetween(before - Duration.ofDays(1).toMillis(), System.currentTimeMillis() - Duration.ofDays(1).toMillis());
+
+        InOrder order = inOrder(superheroApiService);
+        order.verify(superheroApiService).findHeroData(List.of("5", "10"));
+        order.verify(superheroApiService).findHeroData(List.of("400"));
+        order.verifyNoMoreInteractions();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Hero>> saved = ArgumentCaptor.forClass(List.class);
+        verify(heroRepository, times(2)).saveAll(saved.capture());
+        assertThat(saved.getAllValues().get(0)).extracting(Hero::getId).containsExactly(5, 10);
+        assertThat(saved.getAllValues().get(0)).allSatisfy(hero -> assertThat(hero.getUpdatedAt()).isNotNull());
+        // an id the upstream could not resolve stays missing and is tried again next run
+        assertThat(saved.getAllValues().get(1)).isEmpty();
+        verify(heroCatalog).update(saved.getAllValues().get(0));
+        verify(heroCatalogSnapshot).write(any());
+    }
+
+    @Test
+    void upToDateTableMakesNoUpstreamCalls() {
+        known();
+
+        job.sync();
+
+        verifyNoInteractions(superheroApiService, heroCatalog, heroCatalogSnapshot);
+        verify(heroRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void snapshotIsOnlyWrittenWhenSomethingWasSynced() throws Exception {
+        known(7);
+        unresolvable = Set.of("7");
+
+        job.sync();
+
+        verify(superheroApiService).findHeroData(List.of("7"));
+        verify(heroCatalogSnapshot, never()).write(anyCollection());
+    }
+
+    /**
+     * The heroes table holds every id except the missing ones, all of them fresh.
+     */
+    private void known(Integer... missing) {
+        Set<Integer> absent = Set.of(missing);
+        when(heroRepository.findAllIds()).thenReturn(IntStream.rangeClosed(1, SuperheroApiService.HERO_COUNT)
+                .filter(id -> !absent.contains(id))
+                .boxed()
+                .toList());
+    }
+}
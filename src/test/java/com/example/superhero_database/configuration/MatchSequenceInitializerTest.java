@@ -0,0 +1,37 @@
+package com.example.superhero_database.configuration;
+
+import com.example.superhero_database.model.Match;
+import jakarta.persistence.SequenceGenerator;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+class MatchSequenceInitializerTest {
+
+    @Test
+    void incrementMatchesTheAllocationSizeOfMatchIds() throws Exception {
+        SequenceGenerator generator = Match.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+
+        assertThat(generator.sequenceName()).isEqualTo("matches_seq");
+        assertThat(generator.allocationSize()).isEqualTo(50).isEqualTo(MatchSequenceInitializer.ALLOCATION_SIZE);
+        assertThat(MatchSequenceInitializer.ALIGN_INCREMENT)
+                .isEqualTo("ALTER SEQUENCE matches_seq INCREMENT BY " + generator.allocationSize());
+    }
+
+    @Test
+    void setsTheIncrementBeforeMovingTheSequencePastExistingIds() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+        new MatchSequenceInitializer(jdbcTemplate).alignSequence();
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("ALTER SEQUENCE matches_seq INCREMENT BY 50");
+        order.verify(jdbcTemplate).queryForObject(anyString(), eq(Long.class), eq(50));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.superhero_database.parser;
+
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.exception.InvalidHeroIdException;
+import com.example.superhero_database.exception.SuperheroApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeroPayloadParserTest {
+
+    private final HeroPayloadParser parser = new HeroPayloadParser(new ObjectMapper(), 0);
+
+    @Test
+    void readsNameImageAndStats() {
+        HeroData hero = parse("""
+                {"response":"success","id":"70","name":"Batman",
+                 "powerstats":{"intelligence":"100","strength":"26","speed":"27","durability":"50","power":"47","combat":"100"},
+                 "biography":{"aliases":["Insider","Matches Malone"]},
+                 "image":{"url":"https://example.com/70.jpg"}}
+                """);
+
+        assertThat(hero).isEqualTo(new HeroData("70", "Batman", "https://example.com/70.jpg",
+                new HeroStats(26, 47, 27, 100, 50)));
+    }
+
+    @Test
+    void nullImageAndStatsDoNotSwallowTheRestOfThePayload() {
+        HeroData hero = parse("""
+                {"response":"success","image":null,"powerstats":null,"name":"Batman"}
+                """);
+
+        assertThat(hero.name()).isEqualTo("Batman");
+        assertThat(hero.imageUrl()).isNull();
+        assertThat(hero.stats()).isEqualTo(HeroStats.parse(HeroStats.seedFor("70", 0), null, null, null, null, null));
+    }
+
+    @Test
+    void nonObjectImageAndStatsAreSkipped() {
+        HeroData hero = parse("""
+                {"response":"success","image":["a","b"],"powerstats":"unknown","name":"Batman"}
+                """);
+
+        assertThat(hero.name()).isEqualTo("Batman");
+        assertThat(hero.imageUrl()).isNull();
+    }
+
+    @Test
+    void invalidIdAnswerHasItsOwnException() {
+        assertThatThrownBy(() -> parse("{\"response\":\"error\",\"error\":\"invalid id\"}"))
+                .isInstanceOf(InvalidHeroIdException.class);
+        assertThatThrownBy(() -> parse("{\"response\":\"error\",\"error\":\"access denied\"}"))
+                .isInstanceOf(SuperheroApiException.class)
+                .isNotInstanceOf(InvalidHeroIdException.class)
+                .hasMessageContaining("access denied");
+    }
+
+    private HeroData parse(String json) {
+        return parser.parse("70", json.getBytes(StandardCharsets.UTF_8));
+    }
+}
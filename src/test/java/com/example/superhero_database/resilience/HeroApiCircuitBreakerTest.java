@@ -0,0 +1,165 @@
+package com.example.superhero_database.resilience;
+
+import com.example.superhero_database.exception.CircuitOpenException;
+import com.example.superhero_database.exception.InvalidHeroIdException;
+import com.example.superhero_database.exception.SuperheroApiException;
+import com.example.superhero_database.parser.HeroPayloadParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeroApiCircuitBreakerTest {
+
+    private static final Duration NEVER_SLOW = Duration.ofDays(1);
+    private static final Duration LONG_OPEN = Duration.ofDays(1);
+
+    @Test
+    void opensWhenFailureRateReachesThresholdAndRejectsCalls() {
+        HeroApiCircuitBreaker breaker = breaker(4, 4, NEVER_SLOW, LONG_OPEN, 2);
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.CLOSED);
+
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.OPEN);
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> breaker.execute(calls::incrementAndGet)).isInstanceOf(CircuitOpenException.class);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        HeroApiCircuitBreaker breaker = breaker(10, 4, NEVER_SLOW, LONG_OPEN, 2);
+        fail(breaker);
+        fail(breaker);
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void invalidIdAnswersCountAsSuccess() {
+        HeroApiCircuitBreaker breaker = breaker(4, 4, NEVER_SLOW, LONG_OPEN, 2);
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> breaker.execute(() -> {
+                throw new InvalidHeroIdException("999");
+            })).isInstanceOf(InvalidHeroIdException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void malformedAndErrorPayloadsCountAsFailures() {
+        HeroApiCircuitBreaker breaker = breaker(4, 4, NEVER_SLOW, LONG_OPEN, 2);
+        HeroPayloadParser parser = new HeroPayloadParser(new ObjectMapper(), 0);
+        String[] payloads = {
+                "{\"response\":\"success\",\"name\":",
+                "<html>Too Many Requests</html>",
+                "{\"response\":\"error\",\"error\":\"access denied\"}",
+                "{\"response\":\"error\",\"error\":\"rate limit exceeded\"}"
+        };
+
+        for (String payload : payloads) {
+            byte[] json = payload.getBytes(StandardCharsets.UTF_8);
+            assertThatThrownBy(() -> breaker.execute(() -> parser.parse("70", json)))
+                    .isInstanceOf(SuperheroApiException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        HeroApiCircuitBreaker breaker = breaker(4, 4, NEVER_SLOW, LONG_OPEN, 2);
+        fail(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        // the first failure is pushed out, so this is still 1 failure in 4 calls
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        HeroApiCircuitBreaker breaker = breaker(4, 4, Duration.ZERO, LONG_OPEN, 2);
+        for (int i = 0; i < 4; i++) {
+            succeed(breaker);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenClosesAfterSuccessfulTrialCalls() {
+        HeroApiCircuitBreaker breaker = breaker(4, 4, NEVER_SLOW, Duration.ZERO, 2);
+        openWithFailures(breaker);
+
+        succeed(breaker);
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.HALF_OPEN);
+        succeed(breaker);
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.CLOSED);
+
+        // the window starts empty again after closing
+        fail(breaker);
+        fail(breaker);
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenFailureOpensAgain() {
+        HeroApiCircuitBreaker breaker = breaker(4, 4, NEVER_SLOW, Duration.ZERO, 2);
+        openWithFailures(breaker);
+
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenLetsOnlyTheTrialCallsThrough() {
+        HeroApiCircuitBreaker breaker = breaker(4, 4, NEVER_SLOW, Duration.ZERO, 1);
+        openWithFailures(breaker);
+
+        // the only trial call is still running when a second call arrives
+        breaker.execute(() -> {
+            assertThatThrownBy(() -> breaker.execute(() -> "second")).isInstanceOf(CircuitOpenException.class);
+            return "trial";
+        });
+
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.CLOSED);
+    }
+
+    private static HeroApiCircuitBreaker breaker(int windowSize, int minimumCalls, Duration slowCall,
+                                                 Duration open, int halfOpenCalls) {
+        return new HeroApiCircuitBreaker(windowSize, minimumCalls, 50, 100, slowCall, open, halfOpenCalls);
+    }
+
+    private static void openWithFailures(HeroApiCircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertThat(breaker.getState()).isEqualTo(HeroApiCircuitBreaker.State.OPEN);
+    }
+
+    private static void succeed(HeroApiCircuitBreaker breaker) {
+        breaker.execute(() -> "ok");
+    }
+
+    private static void fail(HeroApiCircuitBreaker breaker) {
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new IllegalStateException("connection reset");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+}
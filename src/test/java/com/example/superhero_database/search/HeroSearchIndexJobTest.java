@@ -0,0 +1,120 @@
+package com.example.superhero_database.search;
+
+import com.example.superhero_database.catalog.HeroCatalog;
+import com.example.superhero_database.dto.HeroBatchResponse;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.service.SuperheroApiService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * The mocked upstream answers every id except those in failing, which come back as errors.
+ */
+class HeroSearchIndexJobTest {
+
+    private final SuperheroApiService superheroApiService = mock(SuperheroApiService.class);
+    private final HeroCatalog heroCatalog = mock(HeroCatalog.class);
+    private final HeroSearchIndex index = new HeroSearchIndex();
+    private Set<String> failing = Set.of();
+    private HeroSearchIndexJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new HeroSearchIndexJob(superheroApiService, index, heroCatalog);
+        ReflectionTestUtils.setField(job, "batchSize", 100);
+        when(superheroApiService.getHeroes(anyList())).thenAnswer(invocation -> {
+            List<String> ids = invocation.getArgument(0);
+            Map<String, Object> heroes = new LinkedHashMap<>();
+            Map<String, String> errors = new LinkedHashMap<>();
+            for (String id : ids) {
+                if (failing.contains(id)) {
+                    errors.put(id, "connection reset");
+                } else {
+                    heroes.put(id, Map.of("id", id, "name", "Upstream " + id));
+                }
+            }
+            return new HeroBatchResponse(heroes, errors);
+        });
+    }
+
+    @Test
+    void buildsFromTheUpstreamInBatchesWhileTheCatalogIsEmpty() {
+        job.refresh();
+
+        assertThat(index.size()).isEqualTo(SuperheroApiService.HERO_COUNT);
+        // 731 ids in batches of 100
+        verify(superheroApiService, times(8)).getHeroes(anyList());
+        assertThat(index.search("upstream 70", 1)).singleElement()
+                .satisfies(hero -> assertThat(hero).containsEntry("id", "70"));
+    }
+
+    @Test
+    void buildsFromACompleteCatalogWithoutUpstreamCalls() {
+        catalog(hero("70", "Batman"), hero("644", "Superman"));
+
+        job.refresh();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("bat", 10)).singleElement().satisfies(hero -> {
+            assertThat(hero).containsEntry("id", "70").containsEntry("image", Map.of("url", "https://example.com/70.jpg"));
+            assertThat(hero.get("powerstats")).isEqualTo(Map.of(
+                    "intelligence", "1", "strength", "2", "speed", "3", "durability", "4", "power", "5"));
+        });
+        verifyNoInteractions(superheroApiService);
+    }
+
+    @Test
+    void catalogSmallerThanTheIndexDoesNotShrinkIt() {
+        job.refresh();
+        catalog(hero("70", "Batman"));
+
+        job.refresh();
+
+        assertThat(index.size()).isEqualTo(SuperheroApiService.HERO_COUNT);
+        assertThat(index.search("batman", 10)).isEmpty();
+    }
+
+    @Test
+    void partialUpstreamAnswerDoesNotReplaceALargerIndex() {
+        job.refresh();
+        failing = Set.of("1", "2", "3");
+
+        job.refresh();
+
+        assertThat(index.size()).isEqualTo(SuperheroApiService.HERO_COUNT);
+        assertThat(index.search("upstream 2", 10)).isNotEmpty();
+    }
+
+    @Test
+    void partialUpstreamAnswerIsBetterThanNoIndex() {
+        failing = Set.of("1", "2", "3");
+
+        job.refresh();
+
+        assertThat(index.size()).isEqualTo(SuperheroApiService.HERO_COUNT - 3);
+    }
+
+    private void catalog(HeroData... heroes) {
+        when(heroCatalog.size()).thenReturn(heroes.length);
+        when(heroCatalog.getAll()).thenReturn(List.of(heroes));
+    }
+
+    private static HeroData hero(String id, String name) {
+        return new HeroData(id, name, "https://example.com/" + id + ".jpg", new HeroStats(2, 5, 3, 1, 4));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.superhero_database.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeroSearchIndexTest {
+
+    @Test
+    void ranksExactNamesBeforePrefixesBeforeWords() {
+        HeroSearchIndex index = index("Spider-Woman", "Man-Bat", "Spider-Man", "Batman", "Man", "Mandarin", "Iron Man");
+
+        assertThat(names(index.search("man", 10)))
+                .containsExactly("Man", "Man-Bat", "Mandarin", "Iron Man", "Spider-Man");
+        assertThat(names(index.search("man", 2))).containsExactly("Man", "Man-Bat");
+    }
+
+    @Test
+    void foldsCaseAndAccents() {
+        HeroSearchIndex index = index("Rógue", "Robin");
+
+        assertThat(names(index.search("ROGUE", 10))).containsExactly("Rógue");
+        assertThat(names(index.search("rog", 10))).containsExactly("Rógue");
+        assertThat(names(index.search("  ro ", 10))).containsExactly("Robin", "Rógue");
+    }
+
+    @Test
+    void emptyQueriesAndLimitsFindNothing() {
+        HeroSearchIndex index = index("Batman");
+
+        assertThat(index.search("", 10)).isEmpty();
+        assertThat(index.search(null, 10)).isEmpty();
+        assertThat(index.search("bat", 0)).isEmpty();
+        assertThat(index.search("superman", 10)).isEmpty();
+    }
+
+    @Test
+    void rebuildReplacesTheWholeIndex() {
+        HeroSearchIndex index = new HeroSearchIndex();
+        assertThat(index.isEmpty()).isTrue();
+
+        index.rebuild(heroes("Batman", "Batgirl"));
+        assertThat(index.size()).isEqualTo(2);
+
+        index.rebuild(heroes("Superman"));
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("bat", 10)).isEmpty();
+        assertThat(names(index.search("super", 10))).containsExactly("Superman");
+    }
+
+    private static HeroSearchIndex index(String... names) {
+        HeroSearchIndex index = new HeroSearchIndex();
+        index.rebuild(heroes(names));
+        return index;
+    }
+
+    private static List<Map<String, Object>> heroes(String... names) {
+        return List.of(names).stream().map(name -> Map.<String, Object>of("name", name)).toList();
+    }
+
+    private static List<Object> names(List<Map<String, Object>> heroes) {
+        return heroes.stream().map(hero -> hero.get("name")).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.battle.BattleEventListener;
+import com.example.superhero_database.battle.BulkBattleSimulator;
+import com.example.superhero_database.battle.ClassicBattleEngine;
+import com.example.superhero_database.battle.TickBattleEngine;
+import com.example.superhero_database.dto.battle.BattleEvent;
+import com.example.superhero_database.dto.battle.BattleResult;
+import com.example.superhero_database.exception.BattleNotFoundException;
+import com.example.superhero_database.model.Match;
+import com.example.superhero_database.model.User;
+import com.example.superhero_database.repository.MatchRepository;
+import com.example.superhero_database.service.MatchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The regenerated battle always ends with team 1 winning; the stored result decides the
+ * end event regardless.
+ */
+class BattleReplayServiceImplTest {
+
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final MatchService matchService = mock(MatchService.class);
+    private BattleReplayServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BattleReplayServiceImpl(matchRepository, matchService, Duration.ofMinutes(1), Duration.ofSeconds(2), 1);
+        when(matchService.fetchFullHeroData(anyList())).thenReturn(List.of());
+        when(matchService.simulateBattle(anyList(), anyList(), anyString(), anyLong(), any())).thenAnswer(invocation -> {
+            BattleEventListener listener = invocation.getArgument(4);
+            listener.onAttack(0.5, 1, 2, 30, 70);
+            listener.onAttack(1.0, 2, 1, 20, 80);
+            listener.onKnockout(2.5, 2);
+            return new BattleResult(true, 3.0, 2.5, null, null);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void timelineEndsWithTheStoredResult() {
+        List<BattleEvent> timeline = service.timeline(match(false, TickBattleEngine.NAME, 42L));
+
+        assertThat(timeline).extracting(BattleEvent::type).containsExactly("start", "attack", "attack", "ko", "end");
+        BattleEvent end = timeline.get(timeline.size() - 1);
+        assertThat(end.victory()).isFalse();
+        assertThat(end.time()).isEqualTo(2.5);
+        verify(matchService).simulateBattle(anyList(), anyList(), eq(TickBattleEngine.NAME), eq(42L), any());
+    }
+
+    @Test
+    void timelineOfAWonMatchEndsWithAVictory() {
+        List<BattleEvent> timeline = service.timeline(match(true, ClassicBattleEngine.NAME, 7L));
+
+        assertThat(timeline.get(timeline.size() - 1).victory()).isTrue();
+    }
+
+    @Test
+    void bulkRowsAreReplayedWithTheClassicEngine() {
+        List<BattleEvent> timeline = service.timeline(match(false, BulkBattleSimulator.ENGINE, null));
+
+        assertThat(timeline.get(timeline.size() - 1).victory()).isFalse();
+        verify(matchService).simulateBattle(anyList(), anyList(), eq(ClassicBattleEngine.NAME), eq(0L), any());
+    }
+
+    @Test
+    void unknownMatchesAreNotFound() {
+        User player = new User();
+        when(matchRepository.findByIdAndPlayer(1L, player)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.replay(player, 1L, 1.0)).isInstanceOf(BattleNotFoundException.class);
+    }
+
+    private static Match match(boolean victory, String engine, Long seed) {
+        Match match = new Match();
+        match.setId(1L);
+        match.setPlayerHeroIds(List.of("70"));
+        match.setOpponentHeroIds(List.of("644"));
+        match.setVictory(victory);
+        match.setEngine(engine);
+        match.setSeed(seed);
+        return match;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.battle.HeroStatsResolver;
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.dto.battle.CounterTeam;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.dto.battle.TeamStats;
+import com.example.superhero_database.exception.SuperheroApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Branch and bound search against a brute force ranking of every pair of random heroes.
+ */
+class CounterTeamServiceImplTest {
+
+    private static final int HEROES = 80;
+    private static final int MAX_LIMIT = 20;
+
+    private final HeroStatsStore store = new HeroStatsStore();
+    private CounterTeamServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int id = 1; id <= HEROES; id++) {
+            store.put(hero(id, random.nextInt(1, 101), random.nextInt(1, 101), random.nextInt(1, 101),
+                    random.nextInt(1, 101), random.nextInt(1, 101)));
+        }
+        service = new CounterTeamServiceImpl(store, mock(HeroStatsResolver.class), new SimpleMeterRegistry(), MAX_LIMIT, 10);
+    }
+
+    @Test
+    void ranksLikeABruteForceSearch() {
+        for (List<Integer> opponent : List.of(List.of(1, 2), List.of(7), List.of(10, 20, 30))) {
+            List<CounterTeam> counters = service.findCounters(opponent, MAX_LIMIT);
+            List<Double> expected = bruteForceMargins(opponent.stream().mapToInt(Integer::intValue).toArray());
+
+            assertThat(counters).hasSize(MAX_LIMIT);
+            for (int rank = 0; rank < MAX_LIMIT; rank++) {
+                CounterTeam counter = counters.get(rank);
+                assertThat(counter.margin()).isCloseTo(expected.get(rank), within(1e-9));
+                assertThat(counter.margin()).isCloseTo(counter.survivalTime() - counter.opponentSurvivalTime(), within(1e-9));
+            }
+        }
+    }
+
+    @Test
+    void smallerLimitsReturnThePrefixOfTheFullRanking() {
+        List<CounterTeam> all = service.findCounters(List.of(3, 4), MAX_LIMIT);
+
+        assertThat(service.findCounters(List.of(3, 4), 5)).isEqualTo(all.subList(0, 5));
+        assertThat(service.findCounters(List.of(4, 3), 1)).isEqualTo(all.subList(0, 1));
+    }
+
+    @Test
+    void rejectsLimitsOutsideTheRangeAndEmptyOpponents() {
+        assertThatThrownBy(() -> service.findCounters(List.of(1), 0)).isInstanceOf(SuperheroApiException.class);
+        assertThatThrownBy(() -> service.findCounters(List.of(1), MAX_LIMIT + 1)).isInstanceOf(SuperheroApiException.class);
+        assertThatThrownBy(() -> service.findCounters(List.of(), 5)).isInstanceOf(SuperheroApiException.class);
+        assertThatThrownBy(() -> service.findCounters(null, 5)).isInstanceOf(SuperheroApiException.class);
+    }
+
+    @Test
+    void opponentWithoutDamageIsRejected() {
+        store.put(new HeroData("99", "pacifist", "", new HeroStats(0, 0, 0, 50, 50)));
+
+        assertThatThrownBy(() -> service.findCounters(List.of(99), 5)).isInstanceOf(SuperheroApiException.class);
+    }
+
+    @Test
+    void addedHeroesShowUpInCachedResults() {
+        service.findCounters(List.of(1, 2), 1);
+
+        store.put(hero(HEROES + 1, 100, 100, 100, 100, 100));
+        store.put(hero(HEROES + 2, 100, 100, 100, 100, 100));
+
+        assertThat(service.findCounters(List.of(1, 2), 1).get(0).heroIds())
+                .containsExactly(String.valueOf(HEROES + 1), String.valueOf(HEROES + 2));
+    }
+
+    private List<Double> bruteForceMargins(int[] opponentIds) {
+        TeamStats opponent = store.teamStats(opponentIds);
+        List<Double> margins = new ArrayList<>();
+        for (int a = 1; a <= HEROES; a++) {
+            for (int b = a + 1; b <= HEROES; b++) {
+                TeamStats team = store.teamStats(new int[]{a, b});
+                margins.add(team.survivalTime(opponent) - opponent.survivalTime(team));
+            }
+        }
+        margins.sort(Comparator.reverseOrder());
+        return margins;
+    }
+
+    private static HeroData hero(int id, int strength, int power, int speed, int intelligence, int durability) {
+        return new HeroData(String.valueOf(id), "hero " + id, "", new HeroStats(strength, power, speed, intelligence, durability));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.battle.BulkBattleSimulator;
+import com.example.superhero_database.battle.HeroStatsResolver;
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.dto.battle.BulkBattleRequest;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.model.DashboardStats;
+import com.example.superhero_database.model.Match;
+import com.example.superhero_database.model.PlayerStats;
+import com.example.superhero_database.model.User;
+import com.example.superhero_database.repository.MatchRepository;
+import com.example.superhero_database.service.PlayerStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The dashboard counts only matches the player played: bulk simulations persist their rows
+ * through MatchBatchWriter, never touch the player stats and are skipped by the queries the
+ * dashboard reads.
+ */
+class DashboardServiceImplTest {
+
+    private static final String EMAIL = "player@example.com";
+
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final MatchBatchWriter matchBatchWriter = mock(MatchBatchWriter.class);
+    private final PlayerStatsService playerStatsService = mock(PlayerStatsService.class);
+    private final List<Match> persisted = new ArrayList<>();
+    private final User player = new User();
+
+    private MatchServiceImpl matchService;
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        player.setEmail(EMAIL);
+
+        HeroStatsStore store = new HeroStatsStore();
+        for (int id = 1; id <= 4; id++) {
+            int stat = 10 * id;
+            store.put(new HeroData(String.valueOf(id), "hero " + id, "", new HeroStats(stat, stat, stat, stat, stat)));
+        }
+        BulkBattleSimulator simulator = new BulkBattleSimulator(store);
+        ReflectionTestUtils.setField(simulator, "splitThreshold", 2048);
+
+        matchService = new MatchServiceImpl(playerStatsService, matchRepository, matchBatchWriter, null,
+                new SimpleMeterRegistry(), store, mock(HeroStatsResolver.class), null, simulator, null, null, null);
+        ReflectionTestUtils.setField(matchService, "bulkMaxMatchups", 1000);
+        ReflectionTestUtils.setField(matchService, "bulkMaxTeamSize", 5);
+        dashboardService = new DashboardServiceImpl(matchService, playerStatsService);
+
+        Match played = new Match();
+        played.setPlayer(player);
+        played.setPlayerHeroIds(List.of("3", "4"));
+        played.setOpponentHeroIds(List.of("1", "2"));
+        played.setVictory(true);
+        played.setEngine("classic");
+        persisted.add(played);
+
+        PlayerStats stats = new PlayerStats();
+        stats.setUser(player);
+        stats.setWins(1);
+        stats.setCurrentStreak(1);
+
+        when(matchBatchWriter.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Match> matches = invocation.getArgument(0);
+            persisted.addAll(matches);
+            return matches.size();
+        });
+        // what the bulk-excluding queries return for the rows persisted so far
+        when(matchRepository.findPlayedByPlayerEmail(EMAIL)).thenAnswer(invocation -> persisted.stream()
+                .filter(match -> !BulkBattleSimulator.ENGINE.equals(match.getEngine()))
+                .toList());
+        when(matchRepository.findMostUsedHeroByUsername(EMAIL)).thenReturn(Optional.of("3"));
+        when(playerStatsService.getStatsByUsername(EMAIL)).thenReturn(stats);
+    }
+
+    @Test
+    void persistedBulkMatchesDoNotChangeTheDashboard() {
+        DashboardStats before = dashboardService.getStatsForUsername(EMAIL);
+
+        // team 1 loses both matchups, so counting them would add losses and break the streak
+        matchService.simulateBulk(player, new BulkBattleRequest(2, new int[]{1, 2, 3, 4, 1, 1, 4, 4}, true, false));
+
+        assertThat(persisted).hasSize(3);
+        assertThat(persisted.subList(1, 3)).allSatisfy(match -> {
+            assertThat(match.getEngine()).isEqualTo(BulkBattleSimulator.ENGINE);
+            assertThat(match.getPlayer()).isSameAs(player);
+            assertThat(match.isVictory()).isFalse();
+        });
+        verify(playerStatsService, never()).updateStats(any(), anyBoolean());
+        verify(matchRepository, never()).save(any());
+
+        DashboardStats after = dashboardService.getStatsForUsername(EMAIL);
+        assertThat(after).isEqualTo(before);
+        assertThat(after.getMatchesPlayed()).isEqualTo(1);
+        assertThat(after.getWins()).isEqualTo(1);
+        assertThat(after.getTotalLosses()).isZero();
+        assertThat(after.getCurrentStreak()).isEqualTo(1);
+        assertThat(after.getWinRatio()).isEqualTo(String.format("%.2f", 1.0));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.model.Match;
+import com.example.superhero_database.repository.MatchRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class MatchBatchWriterTest {
+
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private MatchBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new MatchBatchWriter(matchRepository, entityManager);
+        ReflectionTestUtils.setField(writer, "chunkSize", 2);
+    }
+
+    @Test
+    void flushesAndClearsAfterEveryChunk() {
+        List<Match> matches = matches(5);
+
+        assertThat(writer.saveAll(matches)).isEqualTo(5);
+
+        InOrder order = inOrder(matchRepository, entityManager);
+        for (List<Match> chunk : List.of(matches.subList(0, 2), matches.subList(2, 4), matches.subList(4, 5))) {
+            order.verify(matchRepository).saveAll(chunk);
+            order.verify(entityManager).flush();
+            order.verify(entityManager).clear();
+        }
+        order.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void exactMultipleOfTheChunkSizeLeavesNoEmptyChunk() {
+        List<Match> matches = matches(4);
+
+        writer.saveAll(matches);
+
+        InOrder order = inOrder(matchRepository, entityManager);
+        for (List<Match> chunk : List.of(matches.subList(0, 2), matches.subList(2, 4))) {
+            order.verify(matchRepository).saveAll(chunk);
+            order.verify(entityManager).flush();
+            order.verify(entityManager).clear();
+        }
+        order.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void nothingToSave() {
+        assertThat(writer.saveAll(List.of())).isZero();
+
+        verifyNoInteractions(matchRepository, entityManager);
+    }
+
+    private static List<Match> matches(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            Match match = new Match();
+            match.setSeed((long) i);
+            return match;
+        }).toList();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.battle.BulkBattleSimulator;
+import com.example.superhero_database.battle.HeroStatsResolver;
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.dto.battle.BulkBattleRequest;
+import com.example.superhero_database.dto.battle.BulkBattleResponse;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.exception.SuperheroApiException;
+import com.example.superhero_database.model.Match;
+import com.example.superhero_database.model.User;
+import com.example.superhero_database.repository.MatchRepository;
+import com.example.superhero_database.service.PlayerStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Bulk simulations over heroes whose stats grow with the id, so every matchup has a known
+ * winner.
+ */
+class MatchServiceImplTest {
+
+    private final MatchBatchWriter matchBatchWriter = mock(MatchBatchWriter.class);
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final PlayerStatsService playerStatsService = mock(PlayerStatsService.class);
+    private final HeroStatsResolver heroStatsResolver = mock(HeroStatsResolver.class);
+    private final User player = new User();
+
+    private MatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        HeroStatsStore store = new HeroStatsStore();
+        for (int id = 1; id <= 6; id++) {
+            int stat = 10 * id;
+            store.put(new HeroData(String.valueOf(id), "hero " + id, "", new HeroStats(stat, stat, stat, stat, stat)));
+        }
+        BulkBattleSimulator simulator = new BulkBattleSimulator(store);
+        ReflectionTestUtils.setField(simulator, "splitThreshold", 2048);
+
+        service = new MatchServiceImpl(playerStatsService, matchRepository, matchBatchWriter, null,
+                new SimpleMeterRegistry(), store, heroStatsResolver, null, simulator, null, null, null);
+        ReflectionTestUtils.setField(service, "bulkMaxMatchups", 3);
+        ReflectionTestUtils.setField(service, "bulkMaxTeamSize", 2);
+    }
+
+    @Test
+    void rejectsTeamSizesOutsideTheLimit() {
+        assertThatThrownBy(() -> service.simulateBulk(player, request(0, new int[]{1, 2}, false, false)))
+                .isInstanceOf(SuperheroApiException.class);
+        assertThatThrownBy(() -> service.simulateBulk(player, request(3, new int[]{1, 2, 3, 4, 5, 6}, false, false)))
+                .isInstanceOf(SuperheroApiException.class);
+        verifyNoInteractions(heroStatsResolver, matchBatchWriter);
+    }
+
+    @Test
+    void rejectsHeroArraysThatAreNotWholeMatchups() {
+        assertThatThrownBy(() -> service.simulateBulk(player, request(1, null, false, false)))
+                .isInstanceOf(SuperheroApiException.class);
+        assertThatThrownBy(() -> service.simulateBulk(player, request(1, new int[0], false, false)))
+                .isInstanceOf(SuperheroApiException.class);
+        assertThatThrownBy(() -> service.simulateBulk(player, request(2, new int[]{1, 2, 3}, false, false)))
+                .isInstanceOf(SuperheroApiException.class);
+        verifyNoInteractions(heroStatsResolver, matchBatchWriter);
+    }
+
+    @Test
+    void rejectsTooManyMatchups() {
+        int[] fourMatchups = {1, 2, 3, 4, 5, 6, 1, 2};
+
+        assertThatThrownBy(() -> service.simulateBulk(player, request(1, fourMatchups, true, false)))
+                .isInstanceOf(SuperheroApiException.class)
+                .hasMessageContaining("maximum is 3");
+        verifyNoInteractions(heroStatsResolver, matchBatchWriter);
+    }
+
+    @Test
+    void simulatesWithoutPersistingByDefault() {
+        int[] heroes = {1, 2, 4, 3, 6, 5};
+
+        BulkBattleResponse response = service.simulateBulk(player, request(1, heroes, false, false));
+
+        assertThat(response.matchups()).isEqualTo(3);
+        assertThat(response.outcomes()).containsExactly(0, 1, 1);
+        assertThat(response.team1Wins()).isEqualTo(2);
+        assertThat(response.team1SurvivalTimes()).isNull();
+        assertThat(response.team2SurvivalTimes()).isNull();
+        verify(heroStatsResolver).ensureLoaded(heroes);
+        verifyNoInteractions(matchBatchWriter);
+    }
+
+    @Test
+    void persistsOneBulkRowPerMatchup() {
+        int[] heroes = {1, 2, 5, 6, 6, 5, 1, 2};
+
+        BulkBattleResponse response = service.simulateBulk(player, request(2, heroes, true, false));
+
+        // survival times are computed for the rows but only returned when asked for
+        assertThat(response.team1SurvivalTimes()).isNull();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Match>> saved = ArgumentCaptor.forClass(List.class);
+        verify(matchBatchWriter).saveAll(saved.capture());
+        List<Match> matches = saved.getValue();
+        assertThat(matches).hasSize(2);
+        assertThat(matches).allSatisfy(match -> {
+            assertThat(match.getPlayer()).isSameAs(player);
+            assertThat(match.getEngine()).isEqualTo(BulkBattleSimulator.ENGINE);
+            assertThat(match.getSurvivalTimePlayer()).isNotNull();
+            assertThat(match.getSurvivalTimeOpponent()).isNotNull();
+        });
+        assertThat(matches.get(0).getPlayerHeroIds()).containsExactly("1", "2");
+        assertThat(matches.get(0).getOpponentHeroIds()).containsExactly("5", "6");
+        assertThat(matches.get(0).isVictory()).isFalse();
+        assertThat(matches.get(1).getPlayerHeroIds()).containsExactly("6", "5");
+        assertThat(matches.get(1).getOpponentHeroIds()).containsExactly("1", "2");
+        assertThat(matches.get(1).isVictory()).isTrue();
+
+        // bulk rows are not games the player played
+        verify(playerStatsService, never()).updateStats(any(), anyBoolean());
+        verify(matchRepository, never()).save(any());
+    }
+
+    @Test
+    void returnsSurvivalTimesWhenRequested() {
+        BulkBattleResponse response = service.simulateBulk(player, request(1, new int[]{6, 1}, false, true));
+
+        assertThat(response.team1SurvivalTimes()).hasSize(1);
+        assertThat(response.team2SurvivalTimes()).hasSize(1);
+        assertThat(response.team1SurvivalTimes()[0]).isGreaterThan(response.team2SurvivalTimes()[0]);
+    }
+
+    private static BulkBattleRequest request(int teamSize, int[] heroes, boolean persist, boolean survivalTimes) {
+        return new BulkBattleRequest(teamSize, heroes, persist, survivalTimes);
+    }
+}
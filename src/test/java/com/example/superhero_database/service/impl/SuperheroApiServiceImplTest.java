@@ -0,0 +1,259 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.battle.HeroPowerIndex;
+import com.example.superhero_database.cache.CachedHero;
+import com.example.superhero_database.cache.HeroCache;
+import com.example.superhero_database.catalog.HeroCatalog;
+import com.example.superhero_database.dto.HeroBatchResponse;
+import com.example.superhero_database.exception.InvalidHeroIdException;
+import com.example.superhero_database.exception.SuperheroApiException;
+import com.example.superhero_database.parser.HeroPayloadParser;
+import com.example.superhero_database.resilience.HeroApiCircuitBreaker;
+import com.example.superhero_database.search.HeroSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Single-flight loading and batch resolution of heroes, with the upstream RestTemplate mocked.
+ */
+class SuperheroApiServiceImplTest {
+
+    private static final int CALLERS = 8;
+    private static final byte[] BATMAN = """
+            {"response":"success","id":"70","name":"Batman",
+             "powerstats":{"intelligence":"100","strength":"26","speed":"27","durability":"50","power":"47"},
+             "image":{"url":"https://example.com/70.jpg"}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final RacingHeroCache heroCache = new RacingHeroCache();
+    private SuperheroApiServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        HeroApiCircuitBreaker circuitBreaker = new HeroApiCircuitBreaker(
+                20, 10, 50, 80, Duration.ofMinutes(1), Duration.ofSeconds(30), 3);
+        service = new SuperheroApiServiceImpl(
+                restTemplate,
+                heroCache,
+                new HeroPayloadParser(new ObjectMapper(), 0),
+                mock(HeroCatalog.class),
+                mock(HeroSearchIndex.class),
+                new HeroPowerIndex(),
+                circuitBreaker,
+                meterRegistry,
+                callers
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneUpstreamFetch() throws Exception {
+        when(restTemplate.getForObject(anyString(), eq(byte[].class), any(), any())).thenAnswer(invocation -> {
+            upstreamCalls.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+            return BATMAN;
+        });
+
+        List<Future<Map<String, Object>>> results = startCallers();
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Map<String, Object>> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).containsEntry("name", "Batman");
+        }
+        assertThat(upstreamCalls).hasValue(1);
+
+        // the finished flight is gone and the hero is cached, nothing goes upstream again
+        assertThat(service.getHero("70")).containsEntry("name", "Batman");
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void failureReachesEveryWaiterAndIsNotRemembered() throws Exception {
+        when(restTemplate.getForObject(anyString(), eq(byte[].class), any(), any())).thenAnswer(invocation -> {
+            if (upstreamCalls.incrementAndGet() == 1) {
+                release.await(10, TimeUnit.SECONDS);
+                throw new ResourceAccessException("connection reset");
+            }
+            return BATMAN;
+        });
+
+        List<Future<Map<String, Object>>> results = startCallers();
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Map<String, Object>> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ResourceAccessException.class);
+        }
+        assertThat(upstreamCalls).hasValue(1);
+
+        assertThat(service.getHero("70")).containsEntry("name", "Batman");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void invalidIdAnswerIsReportedToEveryCaller() throws Exception {
+        when(restTemplate.getForObject(anyString(), eq(byte[].class), any(), any())).thenAnswer(invocation -> {
+            upstreamCalls.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+            return "{\"response\":\"error\",\"error\":\"invalid id\"}".getBytes(StandardCharsets.UTF_8);
+        });
+
+        List<Future<Map<String, Object>>> results = startCallers();
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Map<String, Object>> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(InvalidHeroIdException.class);
+        }
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void callerThatMissedJustBeforeAFlightFinishedDoesNotFetchAgain() {
+        when(restTemplate.getForObject(anyString(), eq(byte[].class), any(), any())).thenAnswer(invocation -> {
+            upstreamCalls.incrementAndGet();
+            return BATMAN;
+        });
+        assertThat(service.getHero("70")).containsEntry("name", "Batman");
+
+        // the next lookup misses as if it ran just before the flight above cached the hero,
+        // and only reaches putIfAbsent after that flight has removed itself
+        heroCache.missOnce("70");
+
+        assertThat(service.getHero("70")).containsEntry("name", "Batman");
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void batchesAboveTheLimitAreRejectedAfterDroppingDuplicates() {
+        ReflectionTestUtils.setField(service, "maxBatchSize", 2);
+        ReflectionTestUtils.setField(service, "fetchDeadline", Duration.ofSeconds(5));
+        when(restTemplate.getForObject(anyString(), eq(byte[].class), any(), any()))
+                .thenAnswer(invocation -> hero(invocation.getArgument(3)));
+
+        assertThatThrownBy(() -> service.getHeroes(List.of("1", "2", "3")))
+                .isInstanceOf(SuperheroApiException.class)
+                .hasMessageContaining("maximum is 2");
+        assertThat(upstreamCalls).hasValue(0);
+
+        HeroBatchResponse response = service.getHeroes(List.of("2", "1", "2", "1"));
+        assertThat(response.heroes()).containsOnlyKeys("2", "1");
+        assertThat(response.errors()).isEmpty();
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void failingIdsAreReportedWithoutFailingTheBatch() {
+        ReflectionTestUtils.setField(service, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(service, "fetchDeadline", Duration.ofMillis(300));
+        when(restTemplate.getForObject(anyString(), eq(byte[].class), any(), any())).thenAnswer(invocation -> {
+            String id = invocation.getArgument(3);
+            switch (id) {
+                case "5" -> throw new ResourceAccessException("connection reset");
+                case "6" -> release.await(10, TimeUnit.SECONDS);
+                case "999" -> {
+                    return "{\"response\":\"error\",\"error\":\"invalid id\"}".getBytes(StandardCharsets.UTF_8);
+                }
+                default -> { }
+            }
+            return hero(id);
+        });
+        // answered from the cache, it still keeps its place in the response
+        service.getHero("3");
+
+        HeroBatchResponse response = service.getHeroes(List.of("1", "999", "3", "5", "6", "2"));
+
+        assertThat(response.heroes()).containsOnlyKeys("1", "3", "2");
+        assertThat(List.copyOf(response.heroes().keySet())).containsExactly("1", "3", "2");
+        assertThat(response.errors()).containsOnlyKeys("999", "5", "6");
+        assertThat(response.errors().get("5")).contains("connection reset");
+        assertThat(response.errors().get("6")).startsWith("Timed out after 300ms");
+    }
+
+    private byte[] hero(String id) {
+        upstreamCalls.incrementAndGet();
+        return new String(BATMAN, StandardCharsets.UTF_8)
+                .replace("\"70\"", "\"" + id + "\"")
+                .replace("Batman", "Hero " + id)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<Future<Map<String, Object>>> startCallers() {
+        List<Future<Map<String, Object>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> service.getHero("70")));
+        }
+        return results;
+    }
+
+    /**
+     * Reports a miss for one lookup of an id although the hero is cached.
+     */
+    private static final class RacingHeroCache extends HeroCache {
+        private final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+        RacingHeroCache() {
+            super(100, Duration.ofHours(1));
+        }
+
+        void missOnce(String id) {
+            missing.add(id);
+        }
+
+        @Override
+        public Optional<CachedHero> get(String id) {
+            return missing.remove(id) ? Optional.empty() : super.get(id);
+        }
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.counter("superhero.hero.fetch.coalesced").count() < expected) {
+            assertThat(System.nanoTime()).as("callers coalesced in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
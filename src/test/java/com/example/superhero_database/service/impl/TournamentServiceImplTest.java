@@ -0,0 +1,203 @@
+package com.example.superhero_database.service.impl;
+
+import com.example.superhero_database.battle.HeroStatsResolver;
+import com.example.superhero_database.battle.HeroStatsStore;
+import com.example.superhero_database.dto.battle.HeroData;
+import com.example.superhero_database.dto.battle.HeroStats;
+import com.example.superhero_database.dto.battle.TeamStats;
+import com.example.superhero_database.dto.battle.TournamentRequest;
+import com.example.superhero_database.dto.battle.TournamentStanding;
+import com.example.superhero_database.dto.battle.TournamentStatus;
+import com.example.superhero_database.exception.SuperheroApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tournaments between single-hero teams whose strength grows with the hero id, so every
+ * battle has a known winner.
+ */
+class TournamentServiceImplTest {
+
+    private static final int HEROES = 8;
+    private static final int BLOCKING_HERO = 99;
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private TournamentServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void roundRobinPlaysEveryPairingOnce() throws Exception {
+        service = service(2, 10);
+
+        TournamentStatus status = await(service.startTournament(request(teams(5), "round_robin", null)).id());
+
+        assertThat(status.status()).isEqualTo("COMPLETED");
+        assertThat(status.battlesTotal()).isEqualTo(10);
+        assertThat(status.battlesDone()).isEqualTo(10);
+        assertStrongestFirst(status.standings(), 5);
+    }
+
+    @Test
+    void swissPairsTeamsWithEqualPoints() throws Exception {
+        service = service(2, 10);
+
+        TournamentStatus status = await(service.startTournament(request(teams(8), "SWISS", 3)).id());
+
+        assertThat(status.status()).isEqualTo("COMPLETED");
+        assertThat(status.battlesDone()).isEqualTo(12);
+        List<TournamentStanding> standings = status.standings();
+        assertThat(standings).allSatisfy(s -> assertThat(s.wins() + s.losses() + s.draws()).isEqualTo(3));
+        // unbeaten teams meet each other, so 3 rounds leave exactly one 3-0 and one 0-3 team
+        assertThat(standings).filteredOn(s -> s.wins() == 3).singleElement()
+                .satisfies(s -> assertThat(s.heroIds()).containsExactly(8));
+        assertThat(standings).filteredOn(s -> s.losses() == 3).singleElement()
+                .satisfies(s -> assertThat(s.heroIds()).containsExactly(1));
+    }
+
+    @Test
+    void swissSitsOneTeamOutWithAnOddNumberOfTeams() throws Exception {
+        service = service(2, 10);
+
+        TournamentStatus status = await(service.startTournament(request(teams(5), "SWISS", 2)).id());
+
+        assertThat(status.battlesTotal()).isEqualTo(4);
+        assertThat(status.battlesDone()).isEqualTo(4);
+        int games = status.standings().stream().mapToInt(s -> s.wins() + s.losses() + s.draws()).sum();
+        assertThat(games).isEqualTo(8);
+    }
+
+    @Test
+    void swissRoundsAreClamped() {
+        service = service(2, 10);
+
+        assertThat(service.startTournament(request(teams(4), "SWISS", 100)).battlesTotal()).isEqualTo(3 * 2);
+        assertThat(service.startTournament(request(teams(4), "SWISS", 0)).battlesTotal()).isEqualTo(2);
+        assertThat(service.startTournament(request(teams(4), "SWISS", -5)).battlesTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsUnknownFormatsAndTooFewTeams() {
+        service = service(2, 10);
+
+        assertThatThrownBy(() -> service.startTournament(request(teams(4), "KNOCKOUT", null)))
+                .isInstanceOf(SuperheroApiException.class);
+        assertThatThrownBy(() -> service.startTournament(request(teams(1), null, null)))
+                .isInstanceOf(SuperheroApiException.class);
+    }
+
+    @Test
+    void queuedTournamentIsCancelledRightAway() throws Exception {
+        service = service(1, 10);
+        String running = service.startTournament(request(blockingTeams(), null, null)).id();
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        String queued = service.startTournament(request(teams(4), null, null)).id();
+
+        TournamentStatus cancelled = service.cancelTournament(queued).orElseThrow();
+
+        assertThat(cancelled.status()).isEqualTo("CANCELLED");
+        assertThat(cancelled.battlesDone()).isZero();
+
+        release.countDown();
+        assertThat(await(running).status()).isEqualTo("COMPLETED");
+        // the cancelled task must not run once the runner is free again
+        assertThat(service.getTournament(queued, 0).orElseThrow().battlesDone()).isZero();
+    }
+
+    @Test
+    void runningTournamentStaysRunningUntilItsWorkStops() throws Exception {
+        service = service(1, 2);
+        String running = service.startTournament(request(blockingTeams(), null, null)).id();
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        TournamentStatus cancelling = service.cancelTournament(running).orElseThrow();
+        assertThat(cancelling.status()).isEqualTo("RUNNING");
+
+        // a finished tournament makes room, the running one must never be evicted
+        String other = service.startTournament(request(teams(2), null, null)).id();
+        service.cancelTournament(other);
+        service.startTournament(request(teams(2), null, null));
+        assertThat(service.getTournament(running, 0)).isPresent();
+        assertThat(service.getTournament(other, 0)).isEmpty();
+
+        release.countDown();
+        TournamentStatus finished = await(running);
+        assertThat(finished.status()).isEqualTo("CANCELLED");
+        assertThat(finished.battlesDone()).isZero();
+    }
+
+    private TournamentServiceImpl service(int maxRunning, int maxStored) {
+        HeroStatsStore store = new HeroStatsStore() {
+            @Override
+            public TeamStats teamStats(int[] team) {
+                if (team[0] == BLOCKING_HERO) {
+                    entered.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.teamStats(team);
+            }
+        };
+        for (int id = 1; id <= HEROES; id++) {
+            int stat = 10 * id;
+            store.put(new HeroData(String.valueOf(id), "hero " + id, "", new HeroStats(stat, stat, stat, stat, stat)));
+        }
+        store.put(new HeroData(String.valueOf(BLOCKING_HERO), "blocker", "", new HeroStats(50, 50, 50, 50, 50)));
+        return new TournamentServiceImpl(store, mock(HeroStatsResolver.class), 2000, maxRunning, maxStored);
+    }
+
+    private TournamentStatus await(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        TournamentStatus status = service.getTournament(id, 100).orElseThrow();
+        while ("RUNNING".equals(status.status())) {
+            assertThat(System.nanoTime()).as("tournament finished in time").isLessThan(deadline);
+            Thread.sleep(5);
+            status = service.getTournament(id, 100).orElseThrow();
+        }
+        return status;
+    }
+
+    /**
+     * Team i is hero i; a higher id beats every lower one.
+     */
+    private static List<List<Integer>> teams(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(List::of).toList();
+    }
+
+    private static List<List<Integer>> blockingTeams() {
+        return List.of(List.of(BLOCKING_HERO), List.of(1), List.of(2));
+    }
+
+    private static TournamentRequest request(List<List<Integer>> teams, String format, Integer rounds) {
+        return new TournamentRequest(teams, null, format, rounds);
+    }
+
+    private static void assertStrongestFirst(List<TournamentStanding> standings, int teams) {
+        assertThat(standings).hasSize(teams);
+        for (int rank = 0; rank < teams; rank++) {
+            TournamentStanding standing = standings.get(rank);
+            assertThat(standing.heroIds()).containsExactly(teams - rank);
+            assertThat(standing.wins()).isEqualTo(teams - 1 - rank);
+            assertThat(standing.losses()).isEqualTo(rank);
+        }
+    }
+}